@@ -0,0 +1,10 @@
+package com.choocapi.ecommercebackend.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache names and Caffeine bounds are configured under spring.cache in application.yaml
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,71 @@
+package com.choocapi.ecommercebackend.configuration;
+
+import java.util.List;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.choocapi.ecommercebackend.entity.Product;
+import com.choocapi.ecommercebackend.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Database objects that Hibernate's ddl-auto cannot express (generated columns, GIN indexes, ...)
+// Every statement must be idempotent because it runs on each startup
+@Slf4j
+@Configuration
+public class DatabaseInitConfig {
+
+    private static final List<String> STATEMENTS = List.of(
+            // Product full-text search: weighted tsvector over the folded search text
+            """
+            ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('simple', coalesce(search_title, '')), 'A')
+                    || setweight(to_tsvector('simple', coalesce(search_body, '')), 'C')
+                ) STORED
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector)",
+
+            // Admin order/user lookups: trigram indexes serve both LIKE '%kw%' and fuzzy (<%) matching
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_orders_id_trgm ON orders USING GIN (lower(id) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_orders_shipping_name_trgm ON orders USING GIN (lower(shipping_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_orders_shipping_phone_trgm ON orders USING GIN (lower(shipping_phone) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING GIN (lower(email) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING GIN (lower(first_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING GIN (lower(last_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_phone_number_trgm ON users USING GIN (lower(phone_number) gin_trgm_ops)",
+
+            // Reservation expiry sweep: only pending online-payment orders are ever scanned
+            """
+            CREATE INDEX IF NOT EXISTS idx_orders_pending_online_ordered_at ON orders (ordered_at)
+                WHERE status = 'PENDING' AND payment_method IN ('VNPAY', 'MOMO', 'ZALOPAY')
+            """
+    );
+
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    @Bean
+    @Order(0)
+    public ApplicationRunner databaseInitializer(JdbcTemplate jdbcTemplate, ProductRepository productRepository) {
+        return args -> {
+            for (String statement : STATEMENTS) {
+                jdbcTemplate.execute(statement);
+            }
+
+            // Products saved before search text existed
+            List<Product> products = productRepository.findBySearchTitleIsNull(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            while (!products.isEmpty()) {
+                products.forEach(Product::refreshSearchText);
+                productRepository.saveAll(products);
+                log.info("Backfilled search text for {} products", products.size());
+                products = productRepository.findBySearchTitleIsNull(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.choocapi.ecommercebackend.configuration;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * PostgreSQL operators exposed as functions so Criteria/Specification queries can use them
+ * Rendered as the operator itself, which keeps the GIN indexes usable
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor
+ */
+public class PostgresFunctionContributor implements FunctionContributor {
+
+    // pg_trgm word similarity match: trgm_word_match(keyword, column) -> keyword <% column
+    public static final String TRGM_WORD_MATCH = "trgm_word_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        functionContributions.getFunctionRegistry()
+                .registerPattern(TRGM_WORD_MATCH, "(?1 <% ?2)", booleanType);
+    }
+}
@@ -1,5 +1,7 @@
 package com.choocapi.ecommercebackend.controller;
 
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -53,6 +55,11 @@ public class CategoryController {
         return ResponseEntity.ok(ApiResponse.success(categoryService.getBySlug(slug)));
     }
 
+    @GetMapping("/slug/{slug}/breadcrumbs")
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getBreadcrumbs(@PathVariable String slug) {
+        return ResponseEntity.ok(ApiResponse.success(categoryService.getBreadcrumbs(slug)));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<ApiResponse<CategoryResponse>> update(@PathVariable Long id, @RequestBody CategoryRequest request) {
         return ResponseEntity.ok(ApiResponse.success(categoryService.update(id, request)));
@@ -0,0 +1,77 @@
+package com.choocapi.ecommercebackend.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.choocapi.ecommercebackend.enums.ExportFormat;
+import com.choocapi.ecommercebackend.enums.InventoryTransactionType;
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+import com.choocapi.ecommercebackend.service.ExportService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ExportController {
+
+    ExportService exportService;
+
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = exportService.parseFormat(format);
+        return download("orders", exportFormat, gzip,
+                exportService.exportOrders(exportFormat, gzip, from, to, status));
+    }
+
+    @GetMapping("/order-items")
+    public ResponseEntity<StreamingResponseBody> exportOrderItems(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = exportService.parseFormat(format);
+        return download("order-items", exportFormat, gzip,
+                exportService.exportOrderItems(exportFormat, gzip, from, to));
+    }
+
+    @GetMapping("/inventory-transactions")
+    public ResponseEntity<StreamingResponseBody> exportInventoryTransactions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) InventoryTransactionType type,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = exportService.parseFormat(format);
+        return download("inventory-transactions", exportFormat, gzip,
+                exportService.exportInventoryTransactions(exportFormat, gzip, from, to, productId, type));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format, boolean gzip,
+            StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.choocapi.ecommercebackend.dto.request.InventoryTransactionRequest;
 import com.choocapi.ecommercebackend.dto.response.ApiResponse;
+import com.choocapi.ecommercebackend.dto.response.CursorPageResponse;
 import com.choocapi.ecommercebackend.dto.response.InventoryTransactionResponse;
 import com.choocapi.ecommercebackend.dto.response.PageResponse;
 import com.choocapi.ecommercebackend.enums.InventoryTransactionType;
@@ -41,6 +42,15 @@ public class InventoryTransactionController {
         return ResponseEntity.ok(ApiResponse.success(PageResponse.from(service.list(pageable))));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<InventoryTransactionResponse>>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) InventoryTransactionType type) {
+        return ResponseEntity.ok(ApiResponse.success(service.listByCursor(cursor, size, productId, type)));
+    }
+
     @GetMapping("/product/{productId}")
     public ResponseEntity<ApiResponse<PageResponse<InventoryTransactionResponse>>> listByProduct(
             @PathVariable Long productId,
@@ -7,6 +7,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,6 +21,7 @@ import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.repository.OrderRepository;
 import com.choocapi.ecommercebackend.repository.UserRepository;
+import com.choocapi.ecommercebackend.service.IdempotencyService;
 import com.choocapi.ecommercebackend.service.MomoService;
 import com.choocapi.ecommercebackend.utils.PaymentHtmlUtil;
 
@@ -40,9 +42,11 @@ public class MomoController {
 	OrderRepository orderRepository;
 	UserRepository userRepository;
 	MomoConfig momoConfig;
+	IdempotencyService idempotencyService;
 
 	@PostMapping("/create")
-	public PaymentResponse createPayment(@RequestBody PaymentRequest request) {
+	public PaymentResponse createPayment(@RequestBody PaymentRequest request,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 		// Get current user
 		String userId = SecurityContextHolder
 				.getContext().getAuthentication().getName();
@@ -57,7 +61,8 @@ public class MomoController {
 			throw new AppException(ErrorCode.UNAUTHORIZED);
 		}
 
-		return momoService.createPaymentRequest(request.getOrderId(), request.getAmount());
+		return idempotencyService.execute("momo.create", idempotencyKey, request,
+				PaymentResponse.class, () -> momoService.createPaymentRequest(request.getOrderId(), request.getAmount()));
 	}
 
 	@GetMapping("/return")
@@ -11,15 +11,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.choocapi.ecommercebackend.dto.request.ApplyCouponRequest;
+import com.choocapi.ecommercebackend.dto.request.BulkOrderActionRequest;
 import com.choocapi.ecommercebackend.dto.request.OrderRequest;
 import com.choocapi.ecommercebackend.dto.response.ApiResponse;
+import com.choocapi.ecommercebackend.dto.response.BulkOrderActionResponse;
+import com.choocapi.ecommercebackend.dto.response.CursorPageResponse;
 import com.choocapi.ecommercebackend.dto.response.OrderResponse;
 import com.choocapi.ecommercebackend.dto.response.PageResponse;
+import com.choocapi.ecommercebackend.service.IdempotencyService;
 import com.choocapi.ecommercebackend.service.OrderService;
 
 import lombok.AccessLevel;
@@ -33,15 +38,24 @@ import lombok.experimental.FieldDefaults;
 public class OrderController {
 
     OrderService service;
+    IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<ApiResponse<OrderResponse>> create(@RequestBody OrderRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(service.create(request)));
+    public ResponseEntity<ApiResponse<OrderResponse>> create(
+            @RequestBody OrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        OrderResponse response = idempotencyService.execute("orders.create", idempotencyKey, request,
+                OrderResponse.class, () -> service.create(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(response));
     }
 
     @PostMapping("/from-cart")
-    public ResponseEntity<ApiResponse<OrderResponse>> createFromCart(@RequestBody OrderRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(service.createFromCart(request)));
+    public ResponseEntity<ApiResponse<OrderResponse>> createFromCart(
+            @RequestBody OrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        OrderResponse response = idempotencyService.execute("orders.from-cart", idempotencyKey, request,
+                OrderResponse.class, () -> service.createFromCart(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(response));
     }
 
     @GetMapping
@@ -49,8 +63,19 @@ public class OrderController {
             Pageable pageable,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.from(service.list(pageable, search, status, paymentMethod, fuzzy))));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrderResponse>>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String status,
             @RequestParam(required = false) String paymentMethod) {
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.from(service.list(pageable, search, status, paymentMethod))));
+        return ResponseEntity.ok(ApiResponse.success(service.listByCursor(cursor, size, search, status, paymentMethod)));
     }
 
     @GetMapping("/my-orders")
@@ -58,6 +83,13 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(service.getMyOrders()));
     }
 
+    @GetMapping("/my-orders/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrderResponse>>> getMyOrdersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(service.getMyOrdersByCursor(cursor, size)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<OrderResponse>> get(@PathVariable String id) {
         return ResponseEntity.ok(ApiResponse.success(service.get(id)));
@@ -89,6 +121,21 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(service.cancelOrder(id)));
     }
 
+    @PostMapping("/bulk/confirm")
+    public ResponseEntity<ApiResponse<BulkOrderActionResponse>> bulkConfirm(@RequestBody BulkOrderActionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(service.bulkConfirm(request.getOrderIds())));
+    }
+
+    @PostMapping("/bulk/ship")
+    public ResponseEntity<ApiResponse<BulkOrderActionResponse>> bulkShip(@RequestBody BulkOrderActionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(service.bulkShip(request.getOrderIds())));
+    }
+
+    @PostMapping("/bulk/cancel")
+    public ResponseEntity<ApiResponse<BulkOrderActionResponse>> bulkCancel(@RequestBody BulkOrderActionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(service.bulkCancel(request.getOrderIds())));
+    }
+
     @PostMapping("/{id}/confirm-delivery")
     public ResponseEntity<ApiResponse<OrderResponse>> confirmDelivery(@PathVariable String id) {
         return ResponseEntity.ok(ApiResponse.success(service.confirmDelivery(id)));
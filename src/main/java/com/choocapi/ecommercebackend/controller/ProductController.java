@@ -1,5 +1,7 @@
 package com.choocapi.ecommercebackend.controller;
 
+import java.math.BigDecimal;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,8 +17,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.choocapi.ecommercebackend.dto.request.ProductRequest;
 import com.choocapi.ecommercebackend.dto.response.ApiResponse;
+import com.choocapi.ecommercebackend.dto.response.CursorPageResponse;
 import com.choocapi.ecommercebackend.dto.response.PageResponse;
+import com.choocapi.ecommercebackend.dto.response.ProductCardResponse;
 import com.choocapi.ecommercebackend.dto.response.ProductResponse;
+import com.choocapi.ecommercebackend.dto.response.ProductSearchResponse;
 import com.choocapi.ecommercebackend.service.ProductService;
 
 import lombok.AccessLevel;
@@ -45,6 +50,37 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(PageResponse.from(service.list(pageable, search, categoryId, brandId))));
     }
 
+    @GetMapping("/cards")
+    public ResponseEntity<ApiResponse<PageResponse<ProductCardResponse>>> listCards(
+            Pageable pageable,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long brandId) {
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.from(service.listCards(pageable, search, categoryId, brandId))));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ProductSearchResponse>> search(
+            Pageable pageable,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long brandId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock) {
+        return ResponseEntity.ok(ApiResponse.success(
+                service.search(pageable, search, categoryId, brandId, minPrice, maxPrice, inStock)));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long brandId) {
+        return ResponseEntity.ok(ApiResponse.success(service.listByCursor(cursor, size, categoryId, brandId)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponse>> get(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success(service.get(id)));
@@ -60,6 +96,11 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(PageResponse.from(service.getByCategorySlug(categorySlug, pageable))));
     }
 
+    @GetMapping("/category/{categorySlug}/cards")
+    public ResponseEntity<ApiResponse<PageResponse<ProductCardResponse>>> getCardsByCategory(@PathVariable String categorySlug, Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.from(service.getCardsByCategorySlug(categorySlug, pageable))));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponse>> update(@PathVariable Long id, @RequestBody ProductRequest request) {
         return ResponseEntity.ok(ApiResponse.success(service.update(id, request)));
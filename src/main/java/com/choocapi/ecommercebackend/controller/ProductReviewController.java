@@ -6,10 +6,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.choocapi.ecommercebackend.dto.request.ProductReviewRequest;
@@ -48,6 +50,13 @@ public class ProductReviewController {
         return ResponseEntity.ok(ApiResponse.success(service.getMyReviews()));
     }
 
+    @PatchMapping("/{id}/visibility")
+    public ResponseEntity<ApiResponse<ProductReviewResponse>> setHidden(
+            @PathVariable Long id,
+            @RequestParam boolean hidden) {
+        return ResponseEntity.ok(ApiResponse.success(service.setHidden(id, hidden)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
         service.delete(id);
@@ -1,12 +1,17 @@
 package com.choocapi.ecommercebackend.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.choocapi.ecommercebackend.dto.response.ApiResponse;
 import com.choocapi.ecommercebackend.dto.response.OrderResponse;
@@ -14,8 +19,12 @@ import com.choocapi.ecommercebackend.dto.response.statistics.InventoryStatistics
 import com.choocapi.ecommercebackend.dto.response.statistics.ProductsSalesStatisticsResponse;
 import com.choocapi.ecommercebackend.dto.response.statistics.SalesStatisticsResponse;
 import com.choocapi.ecommercebackend.dto.response.statistics.StatisticsResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.TimelineResponse;
 import com.choocapi.ecommercebackend.enums.StatisticsRange;
+import com.choocapi.ecommercebackend.service.DashboardStreamService;
+import com.choocapi.ecommercebackend.service.SalesRollupService;
 import com.choocapi.ecommercebackend.service.StatisticsService;
+import com.choocapi.ecommercebackend.service.StatisticsSnapshotService;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +37,9 @@ import lombok.experimental.FieldDefaults;
 public class StatisticsController {
 
     StatisticsService statisticsService;
+    StatisticsSnapshotService statisticsSnapshotService;
+    SalesRollupService salesRollupService;
+    DashboardStreamService dashboardStreamService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<StatisticsResponse>> getStatistics(
@@ -40,7 +52,7 @@ public class StatisticsController {
                 // Invalid range, will use null (no revenue data)
             }
         }
-        return ResponseEntity.ok(ApiResponse.success(statisticsService.getStatistics(statisticsRange)));
+        return ResponseEntity.ok(ApiResponse.success(statisticsSnapshotService.getStatistics(statisticsRange)));
     }
 
     @GetMapping("/recent-orders")
@@ -60,16 +72,36 @@ public class StatisticsController {
                 // Invalid range, will use null (no timeline data)
             }
         }
-        return ResponseEntity.ok(ApiResponse.success(statisticsService.getSalesStatistics(statisticsRange)));
+        return ResponseEntity.ok(ApiResponse.success(statisticsSnapshotService.getSalesStatistics(statisticsRange)));
+    }
+
+    @GetMapping("/timeline")
+    public ResponseEntity<ApiResponse<TimelineResponse>> getTimeline(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity) {
+        return ResponseEntity.ok(ApiResponse.success(statisticsService.getTimeline(from, to, granularity)));
     }
 
     @GetMapping("/products/sales")
     public ResponseEntity<ApiResponse<ProductsSalesStatisticsResponse>> getProductsSalesStatistics() {
-        return ResponseEntity.ok(ApiResponse.success(statisticsService.getProductsSalesStatistics()));
+        return ResponseEntity.ok(ApiResponse.success(statisticsSnapshotService.getProductsSalesStatistics()));
     }
 
     @GetMapping("/inventory")
     public ResponseEntity<ApiResponse<InventoryStatisticsResponse>> getInventoryStatistics() {
-        return ResponseEntity.ok(ApiResponse.success(statisticsService.getInventoryStatistics()));
+        return ResponseEntity.ok(ApiResponse.success(statisticsSnapshotService.getInventoryStatistics()));
+    }
+
+    // Server-Sent Events: "snapshot" once, then coalesced "delta" events as orders and stock change
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardStreamService.subscribe();
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildRollups() {
+        salesRollupService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(null, "Sales rollups rebuilt successfully"));
     }
 }
@@ -46,9 +46,10 @@ public class UserController {
             @RequestParam(required = false) String role,
             @RequestParam(required = false) String excludeRole,
             @RequestParam(required = false) Boolean status,
-            @RequestParam(required = false) Boolean verified) {
+            @RequestParam(required = false) Boolean verified,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
         return ResponseEntity.ok()
-                .body(ApiResponse.success(PageResponse.from(service.list(pageable, search, role, excludeRole, status, verified))));
+                .body(ApiResponse.success(PageResponse.from(service.list(pageable, search, role, excludeRole, status, verified, fuzzy))));
     }
 
     @GetMapping("/{userId}")
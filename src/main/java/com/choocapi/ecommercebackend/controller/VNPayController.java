@@ -7,6 +7,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,6 +21,7 @@ import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.repository.OrderRepository;
 import com.choocapi.ecommercebackend.repository.UserRepository;
+import com.choocapi.ecommercebackend.service.IdempotencyService;
 import com.choocapi.ecommercebackend.service.VNPayService;
 import com.choocapi.ecommercebackend.utils.PaymentHtmlUtil;
 
@@ -41,10 +43,12 @@ public class VNPayController {
     OrderRepository orderRepository;
     UserRepository userRepository;
     VNPayConfig vnPayConfig;
+    IdempotencyService idempotencyService;
 
     @PostMapping("/create-payment")
     public VNPayPaymentResponse createPayment(
             @RequestBody VNPayPaymentRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             HttpServletRequest httpRequest) {
         
         // Get current user
@@ -61,7 +65,8 @@ public class VNPayController {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
         
-        return vnPayService.createPaymentUrl(request, httpRequest);
+        return idempotencyService.execute("vnpay.create-payment", idempotencyKey, request,
+                VNPayPaymentResponse.class, () -> vnPayService.createPaymentUrl(request, httpRequest));
     }
 
     @GetMapping("/return")
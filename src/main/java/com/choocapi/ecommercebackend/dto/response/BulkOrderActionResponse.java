@@ -0,0 +1,23 @@
+package com.choocapi.ecommercebackend.dto.response;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkOrderActionResponse {
+    String action;
+    int requested;
+    int succeeded;
+    int failed;
+    List<BulkOrderResultResponse> results;
+}
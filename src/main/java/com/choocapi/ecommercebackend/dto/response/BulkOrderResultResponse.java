@@ -0,0 +1,26 @@
+package com.choocapi.ecommercebackend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkOrderResultResponse {
+    String orderId;
+    boolean success;
+    // Status before the action, null if the order does not exist
+    String previousStatus;
+    String status;
+    // ORDER_NOT_FOUND or INVALID_TRANSITION when the order was skipped
+    String error;
+}
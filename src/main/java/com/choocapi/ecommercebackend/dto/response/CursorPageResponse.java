@@ -0,0 +1,44 @@
+package com.choocapi.ecommercebackend.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+// Keyset page: no total count, pass nextCursor back to fetch the following page
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CursorPageResponse<T> {
+    List<T> content;
+    String nextCursor;
+    boolean hasNext;
+    int size;
+
+    /**
+     * Build a page from size + 1 fetched rows; the extra row only signals that more data exists
+     *
+     * @param cursorOf encodes the continuation cursor from the last returned row
+     */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows, int size,
+            Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .hasNext(hasNext)
+                .size(page.size())
+                .build();
+    }
+}
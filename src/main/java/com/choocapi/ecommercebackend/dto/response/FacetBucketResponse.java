@@ -0,0 +1,28 @@
+package com.choocapi.ecommercebackend.dto.response;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FacetBucketResponse {
+    // Filter value to send back: brand/category id, "true"/"false" for stock
+    String value;
+    String label;
+    // Price range buckets only, maxPrice is exclusive
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+    long count;
+}
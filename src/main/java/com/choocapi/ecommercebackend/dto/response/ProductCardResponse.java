@@ -0,0 +1,35 @@
+package com.choocapi.ecommercebackend.dto.response;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+// Slim product listing item: no description, specifications or full image list
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProductCardResponse {
+    Long id;
+    String name;
+    String slug;
+    BigDecimal price;
+    BigDecimal originalPrice;
+    String thumbnailUrl;
+    Long brandId;
+    String brandName;
+    Long categoryId;
+    String categoryName;
+    Boolean inStock;
+    Double averageRating;
+    Long reviewCount;
+}
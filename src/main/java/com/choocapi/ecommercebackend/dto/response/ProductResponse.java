@@ -2,6 +2,7 @@ package com.choocapi.ecommercebackend.dto.response;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -40,6 +41,7 @@ public class ProductResponse {
     Boolean isFeatured;
     Double averageRating;
     Long reviewCount;
+    Map<Integer, Long> ratingDistribution;
 }
 
 
@@ -0,0 +1,27 @@
+package com.choocapi.ecommercebackend.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+// Result page plus facet counts for storefront filtering
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProductSearchResponse {
+    PageResponse<ProductCardResponse> results;
+    List<FacetBucketResponse> brands;
+    List<FacetBucketResponse> categories;
+    List<FacetBucketResponse> priceRanges;
+    List<FacetBucketResponse> availability;
+}
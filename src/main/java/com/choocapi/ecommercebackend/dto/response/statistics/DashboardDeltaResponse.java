@@ -0,0 +1,31 @@
+package com.choocapi.ecommercebackend.dto.response.statistics;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+// Changes since the previous push, to be added to the KPI cards of the last snapshot
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DashboardDeltaResponse {
+    // New orders minus deleted ones
+    Long orders;
+    BigDecimal revenue;
+    // Net change of the order count per status, e.g. {"PENDING": -2, "PROCESSING": 2}
+    Map<String, Long> statusCounts;
+    // Products that dropped to the low-stock threshold
+    List<LowStockProductResponse> lowStockProducts;
+}
@@ -0,0 +1,27 @@
+package com.choocapi.ecommercebackend.dto.response.statistics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TimelinePointResponse {
+    String label;
+    // Bucket start in the shop's time zone
+    LocalDateTime start;
+    BigDecimal revenue;
+    Long orders;
+}
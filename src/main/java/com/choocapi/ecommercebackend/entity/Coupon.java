@@ -3,6 +3,7 @@ package com.choocapi.ecommercebackend.entity;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.choocapi.ecommercebackend.enums.CouponType;
@@ -16,6 +17,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -54,6 +56,10 @@ public class Coupon {
     Integer usageLimit;
     Integer usedCount;
 
+    @Version
+    @ColumnDefault("0")
+    Long version;
+
     Instant startDate;
     Instant endDate;
 
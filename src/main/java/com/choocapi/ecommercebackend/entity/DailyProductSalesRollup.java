@@ -0,0 +1,59 @@
+package com.choocapi.ecommercebackend.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Item-level daily totals per payment method, status, category and product, maintained by SalesRollupService
+@Entity
+@Table(name = "product_sales_daily_rollups", indexes = {
+        @Index(name = "idx_product_sales_daily_rollups_day", columnList = "day"),
+        @Index(name = "idx_product_sales_daily_rollups_product", columnList = "product_id")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DailyProductSalesRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(nullable = false)
+    LocalDate day;
+
+    @Column(nullable = false, length = 30)
+    String paymentMethod;
+
+    @Column(nullable = false, length = 30)
+    String status;
+
+    // Category of the product when the day was last aggregated
+    @Column(name = "category_id")
+    Long categoryId;
+
+    @Column(name = "product_id", nullable = false)
+    Long productId;
+
+    @Column(nullable = false)
+    Long quantity;
+
+    @Column(nullable = false)
+    BigDecimal revenue;
+}
@@ -0,0 +1,54 @@
+package com.choocapi.ecommercebackend.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Order-level daily totals per payment method and status, maintained by SalesRollupService
+@Entity
+@Table(name = "sales_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sales_daily_rollups_key", columnNames = {"day", "payment_method", "status"}))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DailySalesRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    // Order date in the business time zone
+    @Column(nullable = false)
+    LocalDate day;
+
+    @Column(nullable = false, length = 30)
+    String paymentMethod;
+
+    @Column(nullable = false, length = 30)
+    String status;
+
+    @Column(nullable = false)
+    Long orderCount;
+
+    @Column(nullable = false)
+    BigDecimal revenue;
+
+    @Column(nullable = false)
+    BigDecimal discountAmount;
+}
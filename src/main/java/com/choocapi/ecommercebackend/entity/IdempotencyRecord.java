@@ -0,0 +1,62 @@
+package com.choocapi.ecommercebackend.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Stored outcome of a request sent with an Idempotency-Key; responseBody stays null while it is in flight
+@Entity
+@Table(name = "idempotency_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_records_key", columnNames = {"scope", "user_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(nullable = false, length = 50)
+    String scope;
+
+    @Column(name = "user_id", nullable = false, length = 100)
+    String userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    String idempotencyKey;
+
+    // SHA-256 of the request body, a reused key with a different body is rejected
+    @Column(nullable = false, length = 64)
+    String requestHash;
+
+    // Random token of the request holding the claim; only its holder may complete or release it
+    @Column(length = 36)
+    String claimToken;
+
+    @Column(columnDefinition = "TEXT")
+    String responseBody;
+
+    @Column(nullable = false)
+    Instant createdAt;
+
+    @Column(nullable = false)
+    Instant expiresAt;
+}
@@ -2,13 +2,13 @@ package com.choocapi.ecommercebackend.entity;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.UUID;
 
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.choocapi.ecommercebackend.enums.OrderStatus;
 import com.choocapi.ecommercebackend.enums.PaymentMethod;
 import com.choocapi.ecommercebackend.enums.PaymentStatus;
+import com.choocapi.ecommercebackend.utils.IdUtil;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -17,6 +17,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -30,7 +31,10 @@ import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_ordered_at_id", columnList = "ordered_at DESC, id DESC"),
+        @Index(name = "idx_orders_user_ordered_at", columnList = "user_id, ordered_at DESC, id DESC")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -94,7 +98,7 @@ public class Order {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = IdUtil.timeOrderedUuid();
         }
         if (this.orderedAt == null) {
             this.orderedAt = Instant.now();
@@ -5,8 +5,11 @@ import java.time.Instant;
 
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.choocapi.ecommercebackend.utils.SearchTextUtil;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -15,7 +18,10 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -73,9 +79,32 @@ public class Product {
     Integer quantity;
     Integer reservedQuantity;
 
+    // Optimistic lock; the native stock updates in ProductRepository bump it as well
+    @Version
+    @ColumnDefault("0")
+    Long version;
+
     Boolean isPublished;
     Instant publishedAt;
     Boolean isFeatured;
+
+    // Diacritic-folded text feeding the generated search_vector column (see DatabaseInitConfig)
+    @Column(columnDefinition = "TEXT")
+    String searchTitle;
+
+    @Column(columnDefinition = "TEXT")
+    String searchBody;
+
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchText() {
+        this.searchTitle = SearchTextUtil.fold(
+                name,
+                sku,
+                category != null ? category.getName() : null,
+                brand != null ? brand.getName() : null);
+        this.searchBody = SearchTextUtil.fold(description);
+    }
 }
 
 
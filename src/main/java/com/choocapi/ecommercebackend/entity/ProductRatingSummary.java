@@ -0,0 +1,56 @@
+package com.choocapi.ecommercebackend.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Incrementally maintained rating aggregate of the visible reviews of a product
+@Entity
+@Table(name = "product_rating_summaries")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProductRatingSummary {
+    @Id
+    @Column(name = "product_id")
+    Long productId;
+
+    @Column(nullable = false)
+    Long reviewCount;
+
+    @Column(nullable = false)
+    Long ratingSum;
+
+    @Column(nullable = false)
+    Double averageRating;
+
+    @Column(nullable = false)
+    Long oneStarCount;
+
+    @Column(nullable = false)
+    Long twoStarCount;
+
+    @Column(nullable = false)
+    Long threeStarCount;
+
+    @Column(nullable = false)
+    Long fourStarCount;
+
+    @Column(nullable = false)
+    Long fiveStarCount;
+
+    Instant updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.choocapi.ecommercebackend.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Days whose orders changed since their rollup rows were last aggregated
+@Entity
+@Table(name = "sales_rollup_dirty_days")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SalesRollupDirtyDay {
+    @Id
+    LocalDate day;
+}
@@ -3,11 +3,12 @@ package com.choocapi.ecommercebackend.entity;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Set;
-import java.util.UUID;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.choocapi.ecommercebackend.utils.IdUtil;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -75,7 +76,7 @@ public class User {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = IdUtil.timeOrderedUuid();
         }
         if (this.isActive == null) this.isActive = true;
         if (this.emailVerified == null) this.emailVerified = false;
@@ -4,6 +4,8 @@ public enum PaymentStatus {
     PENDING,
     PAID,
     CANCELLED,
+    // Paid after the order had been cancelled; the money has to go back
+    REFUND_PENDING,
     REFUNDED,
     FAILED
 }
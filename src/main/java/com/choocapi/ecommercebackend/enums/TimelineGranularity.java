@@ -0,0 +1,20 @@
+package com.choocapi.ecommercebackend.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum TimelineGranularity {
+    HOUR("hour", "dd/MM HH:mm"),
+    DAY("day", "dd/MM"),
+    WEEK("week", "dd/MM"),
+    MONTH("month", "MM/yyyy");
+
+    // PostgreSQL date_trunc field, also the generate_series step ("1 " + unit)
+    private final String unit;
+    private final String labelPattern;
+
+    TimelineGranularity(String unit, String labelPattern) {
+        this.unit = unit;
+        this.labelPattern = labelPattern;
+    }
+}
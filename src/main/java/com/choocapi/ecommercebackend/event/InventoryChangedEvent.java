@@ -0,0 +1,14 @@
+package com.choocapi.ecommercebackend.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+// Published after an inventory transaction changed a product's stock
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InventoryChangedEvent {
+    Long productId;
+}
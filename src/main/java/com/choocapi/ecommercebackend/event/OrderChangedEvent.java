@@ -0,0 +1,81 @@
+package com.choocapi.ecommercebackend.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.choocapi.ecommercebackend.entity.Order;
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Published after orders were created, changed status or totals, or were deleted
+ * orderedAt is filled when the publisher has the orders at hand (always for deletions),
+ * otherwise listeners look the orders up by id
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderChangedEvent {
+    public enum Type {
+        CREATED, STATUS_CHANGED, UPDATED, DELETED
+    }
+
+    Type type;
+    Collection<String> orderIds;
+    Collection<Instant> orderedAt;
+    // Status of each order before the change (STATUS_CHANGED, UPDATED and DELETED)
+    Map<String, OrderStatus> previousStatuses;
+    // Status after the change, null for deletions
+    OrderStatus status;
+    // Sum of the orders' totals after the change (before it for deletions), null for set-based transitions
+    BigDecimal totalAmount;
+    // Total of the order before a single-order change, null otherwise
+    BigDecimal previousTotalAmount;
+
+    public static OrderChangedEvent created(Order order) {
+        return new OrderChangedEvent(Type.CREATED, List.of(order.getId()), List.of(order.getOrderedAt()), Map.of(),
+                order.getStatus(), order.getTotalAmount(), null);
+    }
+
+    public static OrderChangedEvent deleted(Order order) {
+        return new OrderChangedEvent(Type.DELETED, List.of(order.getId()), List.of(order.getOrderedAt()),
+                previous(order.getId(), order.getStatus()), null, order.getTotalAmount(), null);
+    }
+
+    // Any other change to one order that left its total alone; previousStatus is its status before the change
+    public static OrderChangedEvent of(Order order, OrderStatus previousStatus) {
+        return of(order, previousStatus, order.getTotalAmount());
+    }
+
+    // Any other change to one order, with its status and total before the change
+    public static OrderChangedEvent of(Order order, OrderStatus previousStatus, BigDecimal previousTotalAmount) {
+        Type type = previousStatus == order.getStatus() ? Type.UPDATED : Type.STATUS_CHANGED;
+        return new OrderChangedEvent(type, List.of(order.getId()), List.of(order.getOrderedAt()),
+                previous(order.getId(), previousStatus), order.getStatus(), order.getTotalAmount(), previousTotalAmount);
+    }
+
+    // Change of the orders' total revenue, zero when it is not known
+    public BigDecimal getTotalDelta() {
+        if (totalAmount == null || previousTotalAmount == null) {
+            return BigDecimal.ZERO;
+        }
+        return totalAmount.subtract(previousTotalAmount);
+    }
+
+    // Set-based transition of several orders to one status
+    public static OrderChangedEvent of(Map<String, OrderStatus> previousStatuses, OrderStatus status) {
+        return new OrderChangedEvent(Type.STATUS_CHANGED, List.copyOf(previousStatuses.keySet()), List.of(),
+                Map.copyOf(previousStatuses), status, null, null);
+    }
+
+    private static Map<String, OrderStatus> previous(String orderId, OrderStatus status) {
+        return status != null ? Map.of(orderId, status) : Map.of();
+    }
+}
@@ -0,0 +1,17 @@
+package com.choocapi.ecommercebackend.event;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+// Published after the daily sales rollups were re-aggregated; days is empty after a full rebuild
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SalesRollupRefreshedEvent {
+    Collection<LocalDate> days;
+}
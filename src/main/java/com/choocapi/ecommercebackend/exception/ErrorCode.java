@@ -39,12 +39,16 @@ public enum ErrorCode {
     
     // Inventory management errors
     INSUFFICIENT_STOCK("INSUFFICIENT_STOCK", "Insufficient stock quantity", HttpStatus.BAD_REQUEST),
+    CONCURRENT_MODIFICATION("CONCURRENT_MODIFICATION", "The resource was modified concurrently, please try again", HttpStatus.CONFLICT),
     
     // Rate limiting & Security
     TOO_MANY_REQUESTS("TOO_MANY_REQUESTS", "Too many requests, please try again later", HttpStatus.TOO_MANY_REQUESTS),
     
     // Data validation
     REQUIRED_FIELD_MISSING("REQUIRED_FIELD_MISSING", "Required field is missing", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR("INVALID_CURSOR", "Pagination cursor is invalid", HttpStatus.BAD_REQUEST),
+    IDEMPOTENCY_KEY_REUSED("IDEMPOTENCY_KEY_REUSED", "Idempotency key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("IDEMPOTENCY_REQUEST_IN_PROGRESS", "A request with this idempotency key is still being processed", HttpStatus.CONFLICT),
     
     // Chatbot errors
     CHATBOT_AI_SERVICE_ERROR("CHATBOT_AI_SERVICE_ERROR", "Dịch vụ AI tạm thời không khả dụng", HttpStatus.SERVICE_UNAVAILABLE),
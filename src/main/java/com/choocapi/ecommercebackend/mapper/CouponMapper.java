@@ -14,6 +14,7 @@ import com.choocapi.ecommercebackend.entity.Coupon;
 public interface CouponMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "usedCount", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "type", expression = "java(request.getType() != null ? com.choocapi.ecommercebackend.enums.CouponType.valueOf(request.getType().toUpperCase()) : null)")
     Coupon toEntity(CouponRequest request);
 
@@ -23,6 +24,7 @@ public interface CouponMapper {
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "usedCount", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "type", expression = "java(request.getType() != null ? com.choocapi.ecommercebackend.enums.CouponType.valueOf(request.getType().toUpperCase()) : coupon.getType())")
     void update(@MappingTarget Coupon coupon, CouponRequest request);
 }
@@ -17,6 +17,9 @@ public interface ProductMapper {
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "brand", ignore = true)
     @Mapping(target = "publishedAt", ignore = true)
+    @Mapping(target = "searchTitle", ignore = true)
+    @Mapping(target = "searchBody", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Product toEntity(ProductRequest request);
 
     @Mapping(target = "categoryId", source = "category.id")
@@ -28,6 +31,9 @@ public interface ProductMapper {
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "brand", ignore = true)
     @Mapping(target = "publishedAt", ignore = true)
+    @Mapping(target = "searchTitle", ignore = true)
+    @Mapping(target = "searchBody", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void update(@MappingTarget Product product, ProductRequest request);
 
     default Page<ProductResponse> toPageResponse(Page<Product> products) {
@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.choocapi.ecommercebackend.entity.CartItem;
@@ -14,5 +16,9 @@ import com.choocapi.ecommercebackend.entity.User;
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByUser(User user);
     Optional<CartItem> findByUserAndProduct(User user, Product product);
+
+    // Checkout lines without loading the cart entities: [cartItemId, productId, quantity]
+    @Query("SELECT c.id, c.product.id, c.quantity FROM CartItem c WHERE c.user = :user ORDER BY c.id")
+    List<Object[]> findLinesByUser(@Param("user") User user);
 }
 
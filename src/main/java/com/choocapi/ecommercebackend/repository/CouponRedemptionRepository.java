@@ -0,0 +1,35 @@
+package com.choocapi.ecommercebackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.choocapi.ecommercebackend.entity.CouponRedemption;
+
+@Repository
+public interface CouponRedemptionRepository extends JpaRepository<CouponRedemption, Long> {
+
+    // Returns 0 when the coupon is already redeemed for this order
+    @Modifying
+    @Query(value = """
+        INSERT INTO coupon_redemptions (coupon_id, order_id, user_id, redeemed_at)
+        VALUES (:couponId, :orderId, :userId, now())
+        ON CONFLICT (coupon_id, order_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("couponId") Long couponId, @Param("orderId") String orderId, @Param("userId") String userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM coupon_redemptions WHERE coupon_id = :couponId AND order_id = :orderId", nativeQuery = true)
+    int deleteByCouponIdAndOrderId(@Param("couponId") Long couponId, @Param("orderId") String orderId);
+
+    @Modifying
+    @Query(value = "DELETE FROM coupon_redemptions WHERE coupon_id = :couponId", nativeQuery = true)
+    int deleteByCouponId(@Param("couponId") Long couponId);
+
+    // The ledger outlives a deleted customer, only the link to them goes
+    @Modifying
+    @Query(value = "UPDATE coupon_redemptions SET user_id = NULL WHERE user_id = :userId", nativeQuery = true)
+    int detachUser(@Param("userId") String userId);
+}
@@ -4,6 +4,9 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.choocapi.ecommercebackend.entity.Coupon;
@@ -12,6 +15,28 @@ import com.choocapi.ecommercebackend.entity.Coupon;
 public interface CouponRepository extends JpaRepository<Coupon, Long>, JpaSpecificationExecutor<Coupon> {
     boolean existsByCode(String code);
     Optional<Coupon> findByCode(String code);
-}
 
+    // Claims one use only while the coupon is active, in its validity window and under its usage limit;
+    // returns 0 otherwise, so concurrent redemptions can never exceed usage_limit
+    @Modifying
+    @Query(value = """
+        UPDATE coupons
+        SET used_count = COALESCE(used_count, 0) + 1,
+            version = COALESCE(version, 0) + 1
+        WHERE id = :couponId
+          AND is_active IS NOT FALSE
+          AND (start_date IS NULL OR start_date <= now())
+          AND (end_date IS NULL OR end_date >= now())
+          AND (usage_limit IS NULL OR COALESCE(used_count, 0) < usage_limit)
+        """, nativeQuery = true)
+    int redeem(@Param("couponId") Long couponId);
 
+    @Modifying
+    @Query(value = """
+        UPDATE coupons
+        SET used_count = GREATEST(COALESCE(used_count, 0) - 1, 0),
+            version = COALESCE(version, 0) + 1
+        WHERE id = :couponId
+        """, nativeQuery = true)
+    int unredeem(@Param("couponId") Long couponId);
+}
@@ -0,0 +1,34 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.choocapi.ecommercebackend.entity.DailyProductSalesRollup;
+
+@Repository
+public interface DailyProductSalesRollupRepository extends JpaRepository<DailyProductSalesRollup, Long> {
+
+    // [productId, productName, quantity, revenue] by revenue
+    @Query("""
+        SELECT r.productId, p.name, SUM(r.quantity), SUM(r.revenue) AS totalRevenue
+        FROM DailyProductSalesRollup r
+        JOIN Product p ON p.id = r.productId
+        GROUP BY r.productId, p.name
+        ORDER BY totalRevenue DESC
+        """)
+    List<Object[]> sumTopProductsByRevenue(Limit limit);
+
+    // [categoryId, categoryName, revenue] by revenue
+    @Query("""
+        SELECT r.categoryId, c.name, SUM(r.revenue) AS totalRevenue
+        FROM DailyProductSalesRollup r
+        JOIN Category c ON c.id = r.categoryId
+        GROUP BY r.categoryId, c.name
+        ORDER BY totalRevenue DESC
+        """)
+    List<Object[]> sumRevenueByCategory();
+}
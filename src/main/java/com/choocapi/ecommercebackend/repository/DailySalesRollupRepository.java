@@ -0,0 +1,36 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.choocapi.ecommercebackend.entity.DailySalesRollup;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, Long>, SalesRollupRefreshRepository,
+        SalesTimelineRepository {
+
+    // Every order KPI in one pass over the rollups, plus the return request and customer counts
+    @Query(value = """
+        SELECT COALESCE(SUM(r.revenue), 0) AS "totalRevenue",
+               CAST(COALESCE(SUM(r.order_count), 0) AS BIGINT) AS "totalOrders",
+               CAST(COALESCE(SUM(r.order_count) FILTER (WHERE r.status = 'DELIVERED'), 0) AS BIGINT) AS "completedOrders",
+               CAST(COALESCE(SUM(r.order_count) FILTER (WHERE r.status = 'PENDING'), 0) AS BIGINT) AS "pendingOrders",
+               CAST(COALESCE(SUM(r.order_count) FILTER (WHERE r.status = 'CANCELLED'), 0) AS BIGINT) AS "cancelledOrders",
+               (SELECT COUNT(*) FROM return_requests) AS "returnRequests",
+               (SELECT COUNT(*) FROM users) AS "customers"
+        FROM sales_daily_rollups r
+        """, nativeQuery = true)
+    SalesKpiSummary getKpiSummary();
+
+    // [paymentMethod, revenue], orders without a payment method are left out
+    @Query("""
+        SELECT r.paymentMethod, SUM(r.revenue)
+        FROM DailySalesRollup r
+        WHERE r.paymentMethod <> 'UNKNOWN'
+        GROUP BY r.paymentMethod
+        """)
+    List<Object[]> sumRevenueByPaymentMethod();
+}
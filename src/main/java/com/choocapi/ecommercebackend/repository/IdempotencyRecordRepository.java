@@ -0,0 +1,68 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.choocapi.ecommercebackend.entity.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByScopeAndUserIdAndIdempotencyKey(String scope, String userId, String idempotencyKey);
+
+    /**
+     * Claims the key for this request: inserts an in-flight record, or takes over an expired one; returns 0 if taken
+     * expiresAt is a lease outlasting the slowest wrapped action, so a claim left behind by a crashed node
+     * can be taken over once it lapses; claimToken identifies the holder
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO idempotency_records (scope, user_id, idempotency_key, request_hash, claim_token, response_body, created_at, expires_at)
+        VALUES (:scope, :userId, :key, :requestHash, :claimToken, NULL, now(), :expiresAt)
+        ON CONFLICT (scope, user_id, idempotency_key) DO UPDATE SET
+            request_hash = EXCLUDED.request_hash,
+            claim_token = EXCLUDED.claim_token,
+            response_body = NULL,
+            created_at = EXCLUDED.created_at,
+            expires_at = EXCLUDED.expires_at
+        WHERE idempotency_records.expires_at < now()
+        """, nativeQuery = true)
+    int claim(@Param("scope") String scope, @Param("userId") String userId, @Param("key") String key,
+            @Param("requestHash") String requestHash, @Param("claimToken") String claimToken,
+            @Param("expiresAt") Instant expiresAt);
+
+    // Stores the response and extends the record from the in-flight lease to the replay TTL; 0 if the claim was lost
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE idempotency_records SET response_body = :responseBody, expires_at = :expiresAt
+        WHERE scope = :scope AND user_id = :userId AND idempotency_key = :key
+          AND request_hash = :requestHash AND claim_token = :claimToken AND response_body IS NULL
+        """, nativeQuery = true)
+    int complete(@Param("scope") String scope, @Param("userId") String userId, @Param("key") String key,
+            @Param("requestHash") String requestHash, @Param("claimToken") String claimToken,
+            @Param("responseBody") String responseBody, @Param("expiresAt") Instant expiresAt);
+
+    // Drops an in-flight claim whose request failed so the client can retry with the same key
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE FROM idempotency_records
+        WHERE scope = :scope AND user_id = :userId AND idempotency_key = :key
+          AND request_hash = :requestHash AND claim_token = :claimToken AND response_body IS NULL
+        """, nativeQuery = true)
+    int release(@Param("scope") String scope, @Param("userId") String userId, @Param("key") String key,
+            @Param("requestHash") String requestHash, @Param("claimToken") String claimToken);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_records WHERE expires_at < now()", nativeQuery = true)
+    int deleteExpired();
+}
@@ -3,6 +3,7 @@ package com.choocapi.ecommercebackend.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import com.choocapi.ecommercebackend.entity.InventoryTransaction;
@@ -10,7 +11,8 @@ import com.choocapi.ecommercebackend.entity.Product;
 import com.choocapi.ecommercebackend.enums.InventoryTransactionType;
 
 @Repository
-public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long> {
+public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long>,
+        JpaSpecificationExecutor<InventoryTransaction> {
     Page<InventoryTransaction> findByProduct(Product product, Pageable pageable);
     Page<InventoryTransaction> findByProductAndType(Product product, InventoryTransactionType type, Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+
+// Set-based order status changes and the matching stock updates, one statement per step for a whole batch
+public interface OrderBulkRepository {
+
+    /**
+     * Move every order of {@code orderIds} whose status is in {@code from} to {@code to}
+     * and stamp the matching timestamp column (confirmed_at, shipped_at, cancelled_at)
+     *
+     * @return the previous status by id of the orders that were changed
+     */
+    Map<String, OrderStatus> transition(List<String> orderIds, Set<OrderStatus> from, OrderStatus to);
+
+    /**
+     * Release the reserved quantity of every item of the given orders, summed per product
+     *
+     * @return slug by id of the products whose reservation changed
+     */
+    Map<Long, String> releaseReservations(List<String> orderIds);
+
+    /**
+     * Ship the items of the given orders: reserved units leave the warehouse, summed per product
+     *
+     * @return slug by id of the products whose stock changed
+     */
+    Map<Long, String> commitReservations(List<String> orderIds);
+
+    /**
+     * Give back the coupon uses of the given orders: drops their redemption rows and lowers used_count per coupon
+     *
+     * @return the number of coupons whose use count changed
+     */
+    int releaseCoupons(List<String> orderIds);
+}
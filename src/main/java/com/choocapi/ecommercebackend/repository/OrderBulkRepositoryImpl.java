@@ -0,0 +1,120 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+
+public class OrderBulkRepositoryImpl implements OrderBulkRepository {
+
+    // Sums the item quantities of a batch of orders per product
+    private static final String QUANTITIES_BY_PRODUCT = """
+            SELECT product_id, SUM(quantity) AS quantity
+            FROM order_items
+            WHERE order_id = ANY (?)
+            GROUP BY product_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<String, OrderStatus> transition(List<String> orderIds, Set<OrderStatus> from, OrderStatus to) {
+        Map<String, OrderStatus> changed = new LinkedHashMap<>();
+        if (orderIds.isEmpty() || from.isEmpty()) {
+            return changed;
+        }
+        String assignments = switch (to) {
+            case PROCESSING -> "status = 'PROCESSING', confirmed_at = now()";
+            case SHIPPED -> "status = 'SHIPPED', shipped_at = now()";
+            case CANCELLED -> "status = 'CANCELLED', payment_status = 'CANCELLED', cancelled_at = now()";
+            default -> throw new IllegalArgumentException("Unsupported bulk transition to " + to);
+        };
+        // The subquery locks the rows and keeps their previous status for the report
+        String sql = """
+                UPDATE orders o
+                SET %s
+                FROM (SELECT id, status FROM orders WHERE id = ANY (?) AND status = ANY (?) FOR UPDATE) previous
+                WHERE o.id = previous.id
+                RETURNING o.id, previous.status
+                """.formatted(assignments);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("varchar", orderIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", from.stream().map(OrderStatus::name).toArray()));
+            return statement;
+        }, rs -> {
+            changed.put(rs.getString(1), OrderStatus.valueOf(rs.getString(2)));
+        });
+        return changed;
+    }
+
+    @Override
+    public Map<Long, String> releaseReservations(List<String> orderIds) {
+        return updateStock("""
+                UPDATE products p
+                SET reserved_quantity = GREATEST(COALESCE(p.reserved_quantity, 0) - r.quantity, 0),
+                    version = COALESCE(p.version, 0) + 1
+                FROM (%s) r
+                WHERE p.id = r.product_id
+                RETURNING p.id, p.slug
+                """.formatted(QUANTITIES_BY_PRODUCT), orderIds);
+    }
+
+    @Override
+    public Map<Long, String> commitReservations(List<String> orderIds) {
+        return updateStock("""
+                UPDATE products p
+                SET reserved_quantity = GREATEST(COALESCE(p.reserved_quantity, 0) - r.quantity, 0),
+                    quantity = GREATEST(COALESCE(p.quantity, 0) - r.quantity, 0),
+                    version = COALESCE(p.version, 0) + 1
+                FROM (%s) r
+                WHERE p.id = r.product_id
+                RETURNING p.id, p.slug
+                """.formatted(QUANTITIES_BY_PRODUCT), orderIds);
+    }
+
+    @Override
+    public int releaseCoupons(List<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    WITH released AS (
+                        DELETE FROM coupon_redemptions WHERE order_id = ANY (?) RETURNING coupon_id
+                    )
+                    UPDATE coupons c
+                    SET used_count = GREATEST(COALESCE(c.used_count, 0) - r.uses, 0),
+                        version = COALESCE(c.version, 0) + 1
+                    FROM (SELECT coupon_id, COUNT(*) AS uses FROM released GROUP BY coupon_id) r
+                    WHERE c.id = r.coupon_id
+                    """);
+            statement.setArray(1, connection.createArrayOf("varchar", orderIds.toArray()));
+            return statement;
+        });
+    }
+
+    private Map<Long, String> updateStock(String sql, List<String> orderIds) {
+        Map<Long, String> updated = new LinkedHashMap<>();
+        if (orderIds.isEmpty()) {
+            return updated;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("varchar", orderIds.toArray()));
+            return statement;
+        }, rs -> {
+            updated.put(rs.getLong(1), rs.getString(2));
+        });
+        return updated;
+    }
+}
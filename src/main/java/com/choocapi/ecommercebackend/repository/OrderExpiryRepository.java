@@ -0,0 +1,22 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OrderExpiryRepository {
+
+    /**
+     * Take a transaction-scoped advisory lock so only one node sweeps at a time
+     *
+     * @return false if another transaction holds the lock
+     */
+    boolean tryLockExpirySweep();
+
+    /**
+     * Cancel up to {@code limit} PENDING orders with an unpaid online payment placed before {@code cutoff}
+     * Rows locked by a concurrent writer (e.g. a payment callback) are skipped
+     *
+     * @return the cancelled order ids
+     */
+    List<String> cancelExpiredUnpaid(Instant cutoff, int limit);
+}
@@ -0,0 +1,42 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class OrderExpiryRepositoryImpl implements OrderExpiryRepository {
+
+    private static final long EXPIRY_SWEEP_LOCK_KEY = "order-reservation-expiry".hashCode();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderExpiryRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean tryLockExpirySweep() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, EXPIRY_SWEEP_LOCK_KEY));
+    }
+
+    @Override
+    public List<String> cancelExpiredUnpaid(Instant cutoff, int limit) {
+        return jdbcTemplate.queryForList("""
+                UPDATE orders
+                SET status = 'CANCELLED', payment_status = 'CANCELLED', cancelled_at = now()
+                WHERE id IN (
+                    SELECT id FROM orders
+                    WHERE status = 'PENDING'
+                      AND payment_method IN ('VNPAY', 'MOMO', 'ZALOPAY')
+                      AND (payment_status IS NULL OR payment_status IN ('PENDING', 'FAILED'))
+                      AND ordered_at < ?
+                    ORDER BY ordered_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id
+                """, String.class, Timestamp.from(cutoff), limit);
+    }
+}
@@ -0,0 +1,13 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.util.List;
+
+import com.choocapi.ecommercebackend.entity.OrderItem;
+
+// JDBC batch writes for order items (IDENTITY ids keep Hibernate from batching the inserts)
+public interface OrderItemBatchRepository {
+    /**
+     * Insert all items of an already flushed order in a single JDBC batch
+     */
+    void insertAll(String orderId, List<OrderItem> items);
+}
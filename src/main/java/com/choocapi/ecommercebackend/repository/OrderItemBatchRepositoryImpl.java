@@ -0,0 +1,30 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.choocapi.ecommercebackend.entity.OrderItem;
+
+public class OrderItemBatchRepositoryImpl implements OrderItemBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderItemBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(String orderId, List<OrderItem> items) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO order_items (order_id, product_id, quantity, unit_price, total_price)
+                VALUES (?, ?, ?, ?, ?)
+                """, items, items.size(), (ps, item) -> {
+            ps.setString(1, orderId);
+            ps.setLong(2, item.getProduct().getId());
+            ps.setInt(3, item.getQuantity());
+            ps.setBigDecimal(4, item.getUnitPrice());
+            ps.setBigDecimal(5, item.getTotalPrice());
+        });
+    }
+}
@@ -1,36 +1,34 @@
 package com.choocapi.ecommercebackend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.choocapi.ecommercebackend.entity.Order;
 import com.choocapi.ecommercebackend.entity.OrderItem;
 
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, OrderItemBatchRepository {
     List<OrderItem> findByOrder(Order order);
 
-    // Statistics queries
+    // Items of several orders with their product graph in one query (order responses)
     @Query("""
-        SELECT oi.product.id, oi.product.name, 
-               SUM(oi.quantity) as totalQuantity, 
-               SUM(oi.totalPrice) as totalRevenue
-        FROM OrderItem oi
-        GROUP BY oi.product.id, oi.product.name
-        ORDER BY totalRevenue DESC
+        SELECT oi FROM OrderItem oi
+        JOIN FETCH oi.order
+        JOIN FETCH oi.product p
+        LEFT JOIN FETCH p.category c
+        LEFT JOIN FETCH c.parent
+        LEFT JOIN FETCH p.brand
+        WHERE oi.order.id IN :orderIds
+        ORDER BY oi.id
         """)
-    List<Object[]> getTopProductsByRevenue();
+    List<OrderItem> findWithProductByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
 
-    @Query("""
-        SELECT oi.product.category.id, oi.product.category.name, 
-               SUM(oi.totalPrice) as totalRevenue
-        FROM OrderItem oi
-        WHERE oi.product.category IS NOT NULL
-        GROUP BY oi.product.category.id, oi.product.category.name
-        ORDER BY totalRevenue DESC
-        """)
-    List<Object[]> getCategoryPerformance();
+    // Units per order: [orderId, totalQuantity]
+    @Query("SELECT oi.order.id, SUM(oi.quantity) FROM OrderItem oi WHERE oi.order.id IN :orderIds GROUP BY oi.order.id")
+    List<Object[]> sumQuantityByOrderIds(@Param("orderIds") Collection<String> orderIds);
 }
@@ -1,13 +1,14 @@
 package com.choocapi.ecommercebackend.repository;
 
-import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,48 +18,38 @@ import com.choocapi.ecommercebackend.entity.User;
 import com.choocapi.ecommercebackend.enums.OrderStatus;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecificationExecutor<Order>,
+        OrderExpiryRepository, OrderBulkRepository {
     List<Order> findByUser(User user);
     List<Order> findByUserOrderByOrderedAtDesc(User user);
+    List<Order> findByUserOrderByOrderedAtDescIdDesc(User user, Limit limit);
+    long countByUser(User user);
+
+    @Query("SELECT o.id, o.status FROM Order o WHERE o.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<String> ids);
     Optional<Order> findByVnPayOrderId(String vnPayOrderId);
     Optional<Order> findByMomoOrderId(String momoOrderId);
     Optional<Order> findByZalopayOrderId(String zalopayOrderId);
 
-    // Statistics queries
-    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o")
-    BigDecimal getTotalRevenue();
-
-    @Query("SELECT COUNT(o) FROM Order o")
-    Long getTotalOrdersCount();
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
-    Long countByStatus(@Param("status") OrderStatus status);
+    // Payment callbacks only move an order that is still PENDING, so a late one cannot revive a cancelled order
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE orders SET status = 'PROCESSING', payment_status = 'PAID' WHERE id = :id AND status = 'PENDING'",
+            nativeQuery = true)
+    int markPaid(@Param("id") String id);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query(value = """
-        SELECT DATE(o.ordered_at)::text as date, SUM(o.total_amount) as total
-        FROM orders o
-        WHERE o.ordered_at >= CAST(:startDate AS TIMESTAMP)
-        GROUP BY DATE(o.ordered_at)
-        ORDER BY DATE(o.ordered_at) ASC
+        UPDATE orders SET payment_status = :paymentStatus
+        WHERE id = :id AND status = 'PENDING' AND payment_status IS DISTINCT FROM 'PAID'
         """, nativeQuery = true)
-    List<Object[]> getRevenueByDate(@Param("startDate") Instant startDate);
+    int updatePendingPaymentStatus(@Param("id") String id, @Param("paymentStatus") String paymentStatus);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query(value = """
-        SELECT DATE(o.ordered_at)::text as date, COUNT(o.id) as count
-        FROM orders o
-        WHERE o.ordered_at >= CAST(:startDate AS TIMESTAMP)
-        GROUP BY DATE(o.ordered_at)
-        ORDER BY DATE(o.ordered_at) ASC
+        UPDATE orders SET payment_status = 'REFUND_PENDING'
+        WHERE id = :id AND status = 'CANCELLED' AND payment_status IS DISTINCT FROM 'REFUNDED'
         """, nativeQuery = true)
-    List<Object[]> getOrdersCountByDate(@Param("startDate") Instant startDate);
-
-    @Query("""
-        SELECT o.paymentMethod, SUM(o.totalAmount) as total
-        FROM Order o
-        WHERE o.paymentMethod IS NOT NULL
-        GROUP BY o.paymentMethod
-        """)
-    List<Object[]> getRevenueByPaymentMethod();
+    int flagForRefund(@Param("id") String id);
 
     // Get recent delivered orders
     @Query("SELECT o FROM Order o WHERE o.status = :status ORDER BY o.orderedAt DESC")
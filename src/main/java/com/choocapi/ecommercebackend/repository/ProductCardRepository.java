@@ -0,0 +1,16 @@
+package com.choocapi.ecommercebackend.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.choocapi.ecommercebackend.dto.response.ProductCardResponse;
+import com.choocapi.ecommercebackend.entity.Product;
+
+// Narrow listing query that never reads the TEXT/JSONB product columns
+public interface ProductCardRepository {
+    /**
+     * Product cards matching the specification; rating fields are left for the caller to fill
+     */
+    Page<ProductCardResponse> findCards(Specification<Product> specification, Pageable pageable);
+}
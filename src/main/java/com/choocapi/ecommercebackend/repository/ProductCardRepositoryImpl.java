@@ -0,0 +1,108 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.choocapi.ecommercebackend.dto.response.ProductCardResponse;
+import com.choocapi.ecommercebackend.entity.Brand;
+import com.choocapi.ecommercebackend.entity.Category;
+import com.choocapi.ecommercebackend.entity.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class ProductCardRepositoryImpl implements ProductCardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductCardResponse> findCards(Specification<Product> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Join<Product, Category> category = root.join("category", JoinType.LEFT);
+        Join<Product, Brand> brand = root.join("brand", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id").alias("id"),
+                root.get("name").alias("name"),
+                root.get("slug").alias("slug"),
+                root.get("price").alias("price"),
+                root.get("originalPrice").alias("originalPrice"),
+                // First image only, extracted in the database instead of shipping the whole JSONB array
+                cb.function("jsonb_extract_path_text", String.class, root.get("imageUrls"), cb.literal("0"))
+                        .alias("thumbnailUrl"),
+                brand.get("id").alias("brandId"),
+                brand.get("name").alias("brandName"),
+                category.get("id").alias("categoryId"),
+                category.get("name").alias("categoryName"),
+                root.get("quantity").alias("quantity"),
+                root.get("reservedQuantity").alias("reservedQuantity"));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Pageable sort wins; otherwise keep any ordering the specification set (e.g. by rating)
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<ProductCardResponse> cards = typedQuery.getResultList().stream()
+                .map(this::toCard)
+                .toList();
+
+        return PageableExecutionUtils.getPage(cards, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root)).orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private ProductCardResponse toCard(Tuple tuple) {
+        Integer quantity = tuple.get("quantity", Integer.class);
+        Integer reservedQuantity = tuple.get("reservedQuantity", Integer.class);
+        int available = (quantity != null ? quantity : 0) - (reservedQuantity != null ? reservedQuantity : 0);
+        return ProductCardResponse.builder()
+                .id(tuple.get("id", Long.class))
+                .name(tuple.get("name", String.class))
+                .slug(tuple.get("slug", String.class))
+                .price(tuple.get("price", BigDecimal.class))
+                .originalPrice(tuple.get("originalPrice", BigDecimal.class))
+                .thumbnailUrl(tuple.get("thumbnailUrl", String.class))
+                .brandId(tuple.get("brandId", Long.class))
+                .brandName(tuple.get("brandName", String.class))
+                .categoryId(tuple.get("categoryId", Long.class))
+                .categoryName(tuple.get("categoryName", String.class))
+                .inStock(available > 0)
+                .build();
+    }
+}
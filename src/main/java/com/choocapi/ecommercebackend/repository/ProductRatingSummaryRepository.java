@@ -0,0 +1,81 @@
+package com.choocapi.ecommercebackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.choocapi.ecommercebackend.entity.ProductRatingSummary;
+
+@Repository
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, Long> {
+
+    // Adds one rating in a single upsert statement
+    @Modifying
+    @Query(value = """
+        INSERT INTO product_rating_summaries (product_id, review_count, rating_sum, average_rating,
+                one_star_count, two_star_count, three_star_count, four_star_count, five_star_count, updated_at)
+        VALUES (:productId, 1, :rating, :rating,
+                CASE WHEN :rating = 1 THEN 1 ELSE 0 END,
+                CASE WHEN :rating = 2 THEN 1 ELSE 0 END,
+                CASE WHEN :rating = 3 THEN 1 ELSE 0 END,
+                CASE WHEN :rating = 4 THEN 1 ELSE 0 END,
+                CASE WHEN :rating = 5 THEN 1 ELSE 0 END,
+                now())
+        ON CONFLICT (product_id) DO UPDATE SET
+            review_count = product_rating_summaries.review_count + 1,
+            rating_sum = product_rating_summaries.rating_sum + EXCLUDED.rating_sum,
+            average_rating = CAST(product_rating_summaries.rating_sum + EXCLUDED.rating_sum AS DOUBLE PRECISION)
+                    / (product_rating_summaries.review_count + 1),
+            one_star_count = product_rating_summaries.one_star_count + EXCLUDED.one_star_count,
+            two_star_count = product_rating_summaries.two_star_count + EXCLUDED.two_star_count,
+            three_star_count = product_rating_summaries.three_star_count + EXCLUDED.three_star_count,
+            four_star_count = product_rating_summaries.four_star_count + EXCLUDED.four_star_count,
+            five_star_count = product_rating_summaries.five_star_count + EXCLUDED.five_star_count,
+            updated_at = now()
+        """, nativeQuery = true)
+    void addRating(@Param("productId") Long productId, @Param("rating") int rating);
+
+    // Removes one rating; update only, a product without a summary row has nothing to remove
+    @Modifying
+    @Query(value = """
+        UPDATE product_rating_summaries SET
+            review_count = GREATEST(review_count - 1, 0),
+            rating_sum = GREATEST(rating_sum - :rating, 0),
+            average_rating = CASE
+                WHEN review_count - 1 > 0
+                THEN CAST(rating_sum - :rating AS DOUBLE PRECISION) / (review_count - 1)
+                ELSE 0 END,
+            one_star_count = GREATEST(one_star_count - CASE WHEN :rating = 1 THEN 1 ELSE 0 END, 0),
+            two_star_count = GREATEST(two_star_count - CASE WHEN :rating = 2 THEN 1 ELSE 0 END, 0),
+            three_star_count = GREATEST(three_star_count - CASE WHEN :rating = 3 THEN 1 ELSE 0 END, 0),
+            four_star_count = GREATEST(four_star_count - CASE WHEN :rating = 4 THEN 1 ELSE 0 END, 0),
+            five_star_count = GREATEST(five_star_count - CASE WHEN :rating = 5 THEN 1 ELSE 0 END, 0),
+            updated_at = now()
+        WHERE product_id = :productId
+        """, nativeQuery = true)
+    void removeRating(@Param("productId") Long productId, @Param("rating") int rating);
+
+    @Modifying
+    @Query(value = "DELETE FROM product_rating_summaries", nativeQuery = true)
+    void deleteAllSummaries();
+
+    // Recomputes every summary from the visible reviews (backfill / repair)
+    @Modifying
+    @Query(value = """
+        INSERT INTO product_rating_summaries (product_id, review_count, rating_sum, average_rating,
+                one_star_count, two_star_count, three_star_count, four_star_count, five_star_count, updated_at)
+        SELECT pr.product_id, COUNT(*), SUM(pr.rating), AVG(pr.rating),
+               COUNT(*) FILTER (WHERE pr.rating = 1),
+               COUNT(*) FILTER (WHERE pr.rating = 2),
+               COUNT(*) FILTER (WHERE pr.rating = 3),
+               COUNT(*) FILTER (WHERE pr.rating = 4),
+               COUNT(*) FILTER (WHERE pr.rating = 5),
+               now()
+        FROM product_reviews pr
+        WHERE pr.is_hidden IS NOT TRUE
+        GROUP BY pr.product_id
+        """, nativeQuery = true)
+    void insertSummariesFromReviews();
+}
@@ -8,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,14 +17,56 @@ import com.choocapi.ecommercebackend.entity.Category;
 import com.choocapi.ecommercebackend.entity.Product;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductSearchRepository, ProductCardRepository, ProductStockRepository {
     boolean existsBySlug(String slug);
     boolean existsBySku(String sku);
     Optional<Product> findBySlug(String slug);
+    List<Product> findBySearchTitleIsNull(Pageable pageable);
     Page<Product> findByCategory(Category category, Pageable pageable);
-    
-    @Query("SELECT p FROM Product p WHERE p.category IN :categories")
-    Page<Product> findByCategories(@Param("categories") List<Category> categories, Pageable pageable);
+
+    // Atomic stock updates: one conditional UPDATE per order line, the affected-row count decides success
+    // Each also bumps the @Version column so concurrent entity-level writers of the same product retry
+
+    // Reserves stock only if enough is available; returns 0 when out of stock (or the product is missing)
+    @Modifying
+    @Query(value = """
+        UPDATE products
+        SET reserved_quantity = COALESCE(reserved_quantity, 0) + :quantity,
+            version = COALESCE(version, 0) + 1
+        WHERE id = :productId
+          AND COALESCE(quantity, 0) - COALESCE(reserved_quantity, 0) >= :quantity
+        """, nativeQuery = true)
+    int reserveStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = """
+        UPDATE products
+        SET reserved_quantity = GREATEST(COALESCE(reserved_quantity, 0) - :quantity, 0),
+            version = COALESCE(version, 0) + 1
+        WHERE id = :productId
+        """, nativeQuery = true)
+    int releaseStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // Shipping: the reserved units leave the warehouse
+    @Modifying
+    @Query(value = """
+        UPDATE products
+        SET reserved_quantity = GREATEST(COALESCE(reserved_quantity, 0) - :quantity, 0),
+            quantity = GREATEST(COALESCE(quantity, 0) - :quantity, 0),
+            version = COALESCE(version, 0) + 1
+        WHERE id = :productId
+        """, nativeQuery = true)
+    int commitStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = """
+        UPDATE products
+        SET quantity = COALESCE(quantity, 0) + :quantity,
+            version = COALESCE(version, 0) + 1
+        WHERE id = :productId
+        """, nativeQuery = true)
+    int restock(@Param("productId") Long productId, @Param("quantity") int quantity);
 
     // Statistics queries
     @Query("SELECT COUNT(p) FROM Product p")
@@ -35,6 +78,10 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @Query("SELECT COUNT(p) FROM Product p WHERE p.quantity <= 10")
     Long getLowStockProductsCount();
 
+    // [id, name, quantity] of the products counted by getLowStockProductsCount
+    @Query("SELECT p.id, p.name, p.quantity FROM Product p WHERE p.quantity <= 10")
+    List<Object[]> findLowStockProducts();
+
     @Query("""
         SELECT COALESCE(SUM(p.price * p.quantity), 0)
         FROM Product p
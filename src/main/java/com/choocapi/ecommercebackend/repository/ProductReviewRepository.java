@@ -3,6 +3,7 @@ package com.choocapi.ecommercebackend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,19 +18,15 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
 
     List<ProductReview> findByUserOrderByCreatedAtDesc(User user);
 
-    @Query("""
-            SELECT COALESCE(AVG(pr.rating), 0)
-            FROM ProductReview pr
-            WHERE pr.product = :product
-              AND (pr.isHidden IS NULL OR pr.isHidden = false)
-            """)
-    Double findAverageRatingByProduct(@Param("product") Product product);
+    // Flips the visibility only if it differs (null counts as visible), 1 when this call changed it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE product_reviews SET is_hidden = :hidden
+            WHERE id = :id AND (is_hidden IS TRUE) <> :hidden
+            """, nativeQuery = true)
+    int updateHidden(@Param("id") Long id, @Param("hidden") boolean hidden);
 
-    @Query("""
-            SELECT COUNT(pr)
-            FROM ProductReview pr
-            WHERE pr.product = :product
-              AND (pr.isHidden IS NULL OR pr.isHidden = false)
-            """)
-    Long countVisibleReviewsByProduct(@Param("product") Product product);
+    // Deletes the review and returns whether it was hidden, empty if a concurrent call already deleted it
+    @Query(value = "DELETE FROM product_reviews WHERE id = :id RETURNING COALESCE(is_hidden, false)", nativeQuery = true)
+    List<Boolean> deleteReturningHidden(@Param("id") Long id);
 }
@@ -0,0 +1,52 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+// Native PostgreSQL full-text search over products.search_vector (GIN indexed)
+public interface ProductSearchRepository {
+    /**
+     * Ids of products matching the tsquery, in the pageable's sort with ts_rank as the tiebreaker,
+     * or ranked by ts_rank alone (best first) when the pageable is unsorted
+     * Sortable properties: id, name, sku, price, originalPrice, quantity, publishedAt and averageRating
+     *
+     * @param tsQuery a tsquery built by SearchTextUtil.toTsQuery
+     * @param categoryId optional category filter
+     * @param brandId optional brand filter
+     * @param publishedOnly restrict to published products
+     */
+    default Page<Long> searchIds(String tsQuery, Long categoryId, Long brandId, boolean publishedOnly, Pageable pageable) {
+        return searchIds(tsQuery, categoryId, brandId, null, null, null, publishedOnly, pageable);
+    }
+
+    /**
+     * Same as above with the price range [minPrice, maxPrice) and availability filters, each optional
+     */
+    Page<Long> searchIds(String tsQuery, Long categoryId, Long brandId, BigDecimal minPrice, BigDecimal maxPrice,
+            Boolean inStock, boolean publishedOnly, Pageable pageable);
+
+    /**
+     * Brand, category, price bucket and availability facet counts in one GROUPING SETS query
+     * Each facet is counted with every filter applied except its own, so sibling values stay selectable
+     *
+     * @param tsQuery optional tsquery; null counts over the whole catalog
+     * @param priceBounds ascending bucket boundaries, bucket n covers [priceBounds[n-1], priceBounds[n])
+     * @return rows of [facet ("brand", "category", "price", "stock"), key, label, count]
+     */
+    List<Object[]> facetCounts(String tsQuery, Long categoryId, Long brandId, BigDecimal minPrice, BigDecimal maxPrice,
+            Boolean inStock, boolean publishedOnly, List<BigDecimal> priceBounds);
+
+    /**
+     * Recompute search_title of a brand's products from the current names, after the brand was renamed
+     * Folding runs in Java (SearchTextUtil.fold), so the rows are read and the changed titles written back in one batch
+     *
+     * @return the number of products whose title changed
+     */
+    int refreshSearchTitlesByBrand(Long brandId);
+
+    // Same as above for the products directly in a category
+    int refreshSearchTitlesByCategory(Long categoryId);
+}
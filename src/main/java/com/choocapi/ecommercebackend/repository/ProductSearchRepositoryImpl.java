@@ -0,0 +1,237 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
+import com.choocapi.ecommercebackend.utils.SearchTextUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    private static final String AVAILABLE = "(COALESCE(p.quantity, 0) - COALESCE(p.reserved_quantity, 0) > 0)";
+    private static final String RANK = "ts_rank(p.search_vector, to_tsquery('simple', :tsQuery)) DESC";
+
+    // Sortable properties and their columns; the ORDER BY is concatenated, so anything else is rejected
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "p.id",
+            "name", "p.name",
+            "sku", "p.sku",
+            "price", "p.price",
+            "originalPrice", "p.original_price",
+            "quantity", "p.quantity",
+            "publishedAt", "p.published_at",
+            "averageRating", "COALESCE(rs.average_rating, 0)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<Long> searchIds(String tsQuery, Long categoryId, Long brandId, BigDecimal minPrice, BigDecimal maxPrice,
+            Boolean inStock, boolean publishedOnly, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = buildBaseClause(tsQuery, publishedOnly, parameters)
+                + " AND " + brandCondition(brandId, parameters)
+                + " AND " + categoryCondition(categoryId, parameters)
+                + " AND " + priceCondition(minPrice, maxPrice, parameters)
+                + " AND " + stockCondition(inStock, parameters);
+
+        Sort sort = pageable.getSort();
+        String join = sort.getOrderFor("averageRating") != null
+                ? " LEFT JOIN product_rating_summaries rs ON rs.product_id = p.id "
+                : " ";
+        Query query = entityManager.createNativeQuery("SELECT p.id FROM products p" + join + where
+                + " ORDER BY " + orderBy(sort, tsQuery != null));
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Long> ids = ((List<?>) query.getResultList()).stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+
+        return PageableExecutionUtils.getPage(ids, pageable, () -> {
+            Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) FROM products p " + where);
+            parameters.forEach(countQuery::setParameter);
+            return ((Number) countQuery.getSingleResult()).longValue();
+        });
+    }
+
+    @Override
+    public List<Object[]> facetCounts(String tsQuery, Long categoryId, Long brandId, BigDecimal minPrice,
+            BigDecimal maxPrice, Boolean inStock, boolean publishedOnly, List<BigDecimal> priceBounds) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = buildBaseClause(tsQuery, publishedOnly, parameters);
+        String bounds = priceBounds.stream().map(BigDecimal::toPlainString).collect(Collectors.joining(","));
+
+        // Per-row filter flags, then one pass grouped four ways; each facet skips its own flag
+        Query query = entityManager.createNativeQuery("""
+                SELECT CASE WHEN GROUPING(f.brand_id) = 0 THEN 'brand'
+                            WHEN GROUPING(f.category_id) = 0 THEN 'category'
+                            WHEN GROUPING(f.price_bucket) = 0 THEN 'price'
+                            ELSE 'stock' END AS facet,
+                       CASE WHEN GROUPING(f.brand_id) = 0 THEN CAST(f.brand_id AS TEXT)
+                            WHEN GROUPING(f.category_id) = 0 THEN CAST(f.category_id AS TEXT)
+                            WHEN GROUPING(f.price_bucket) = 0 THEN CAST(f.price_bucket AS TEXT)
+                            ELSE CAST(f.in_stock AS TEXT) END AS facet_key,
+                       CASE WHEN GROUPING(f.brand_id) = 0 THEN f.brand_name
+                            WHEN GROUPING(f.category_id) = 0 THEN f.category_name END AS label,
+                       CASE WHEN GROUPING(f.brand_id) = 0
+                                THEN COUNT(*) FILTER (WHERE f.category_ok AND f.price_ok AND f.stock_ok)
+                            WHEN GROUPING(f.category_id) = 0
+                                THEN COUNT(*) FILTER (WHERE f.brand_ok AND f.price_ok AND f.stock_ok)
+                            WHEN GROUPING(f.price_bucket) = 0
+                                THEN COUNT(*) FILTER (WHERE f.brand_ok AND f.category_ok AND f.stock_ok)
+                            ELSE COUNT(*) FILTER (WHERE f.brand_ok AND f.category_ok AND f.price_ok) END AS total
+                FROM (
+                    SELECT p.brand_id, b.name AS brand_name, p.category_id, c.name AS category_name,
+                           width_bucket(p.price, CAST(ARRAY[%s] AS NUMERIC[])) AS price_bucket,
+                           %s AS in_stock,
+                           %s AS brand_ok,
+                           %s AS category_ok,
+                           %s AS price_ok,
+                           %s AS stock_ok
+                    FROM products p
+                    LEFT JOIN brands b ON b.id = p.brand_id
+                    LEFT JOIN categories c ON c.id = p.category_id
+                    %s
+                ) f
+                GROUP BY GROUPING SETS ((f.brand_id, f.brand_name), (f.category_id, f.category_name),
+                                        (f.price_bucket), (f.in_stock))
+                """.formatted(
+                bounds,
+                AVAILABLE,
+                brandCondition(brandId, parameters),
+                categoryCondition(categoryId, parameters),
+                priceCondition(minPrice, maxPrice, parameters),
+                stockCondition(inStock, parameters),
+                where));
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows;
+    }
+
+    @Override
+    public int refreshSearchTitlesByBrand(Long brandId) {
+        return refreshSearchTitles("p.brand_id", brandId);
+    }
+
+    @Override
+    public int refreshSearchTitlesByCategory(Long categoryId) {
+        return refreshSearchTitles("p.category_id", categoryId);
+    }
+
+    // Same inputs as Product.refreshSearchText; the caller flushes the rename first so the join sees it
+    private int refreshSearchTitles(String column, Long id) {
+        List<Object[]> changed = jdbcTemplate.query("""
+                SELECT p.id, p.name, p.sku, c.name, b.name, p.search_title
+                FROM products p
+                LEFT JOIN categories c ON c.id = p.category_id
+                LEFT JOIN brands b ON b.id = p.brand_id
+                WHERE %s = ?
+                """.formatted(column), (rs, rowNum) -> new Object[] {
+                        SearchTextUtil.fold(rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)),
+                        rs.getLong(1),
+                        rs.getString(6)}, id)
+                .stream()
+                .filter(row -> !row[0].equals(row[2]))
+                .map(row -> new Object[] {row[0], row[1]})
+                .toList();
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE products SET search_title = ? WHERE id = ?", changed);
+        }
+        return changed.size();
+    }
+
+    // The requested sort first, relevance as the tiebreaker (or alone when unsorted), id for a stable order
+    private String orderBy(Sort sort, boolean ranked) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new AppException(ErrorCode.INVALID_REQUEST);
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC") + " NULLS LAST");
+        }
+        if (ranked) {
+            orders.add(RANK);
+        }
+        if (sort.getOrderFor("id") == null) {
+            orders.add("p.id DESC");
+        }
+        return String.join(", ", orders);
+    }
+
+    private String buildBaseClause(String tsQuery, boolean publishedOnly, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder("WHERE TRUE");
+        if (tsQuery != null) {
+            where.append(" AND p.search_vector @@ to_tsquery('simple', :tsQuery)");
+            parameters.put("tsQuery", tsQuery);
+        }
+        if (publishedOnly) {
+            where.append(" AND p.is_published = true");
+        }
+        return where.toString();
+    }
+
+    private String brandCondition(Long brandId, Map<String, Object> parameters) {
+        if (brandId == null) {
+            return "TRUE";
+        }
+        parameters.put("brandId", brandId);
+        return "(p.brand_id = :brandId)";
+    }
+
+    private String categoryCondition(Long categoryId, Map<String, Object> parameters) {
+        if (categoryId == null) {
+            return "TRUE";
+        }
+        parameters.put("categoryId", categoryId);
+        return "(p.category_id = :categoryId)";
+    }
+
+    private String priceCondition(BigDecimal minPrice, BigDecimal maxPrice, Map<String, Object> parameters) {
+        StringBuilder condition = new StringBuilder("(TRUE");
+        if (minPrice != null) {
+            condition.append(" AND p.price >= :minPrice");
+            parameters.put("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            condition.append(" AND p.price < :maxPrice");
+            parameters.put("maxPrice", maxPrice);
+        }
+        return condition.append(")").toString();
+    }
+
+    private String stockCondition(Boolean inStock, Map<String, Object> parameters) {
+        if (inStock == null) {
+            return "TRUE";
+        }
+        parameters.put("inStock", inStock);
+        return "(" + AVAILABLE + " = :inStock)";
+    }
+}
@@ -0,0 +1,15 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+// Bulk stock reservation, same conditional update as ProductRepository.reserveStock
+public interface ProductStockRepository {
+    /**
+     * Reserve stock for several products in a single JDBC batch
+     *
+     * @param quantities product id -> quantity to reserve
+     * @return ids of the products that did not have enough available stock
+     */
+    List<Long> reserveStockBatch(Map<Long, Integer> quantities);
+}
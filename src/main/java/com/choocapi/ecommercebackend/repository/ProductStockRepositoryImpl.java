@@ -0,0 +1,40 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStockRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> reserveStockBatch(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(quantities.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                UPDATE products
+                SET reserved_quantity = COALESCE(reserved_quantity, 0) + ?,
+                    version = COALESCE(version, 0) + 1
+                WHERE id = ?
+                  AND COALESCE(quantity, 0) - COALESCE(reserved_quantity, 0) >= ?
+                """, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        });
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (counts[0][i] == 0) {
+                rejected.add(lines.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+}
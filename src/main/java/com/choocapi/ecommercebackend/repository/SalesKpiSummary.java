@@ -0,0 +1,20 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.math.BigDecimal;
+
+// Dashboard KPIs read in a single statement, see DailySalesRollupRepository.getKpiSummary
+public interface SalesKpiSummary {
+    BigDecimal getTotalRevenue();
+
+    Long getTotalOrders();
+
+    Long getCompletedOrders();
+
+    Long getPendingOrders();
+
+    Long getCancelledOrders();
+
+    Long getReturnRequests();
+
+    Long getCustomers();
+}
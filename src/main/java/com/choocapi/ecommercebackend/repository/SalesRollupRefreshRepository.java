@@ -0,0 +1,28 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// Maintenance of the daily sales rollups: dirty-day marking and set-based re-aggregation from orders
+public interface SalesRollupRefreshRepository {
+
+    void markDirtyDays(Collection<LocalDate> days);
+
+    // Marks the business-zone order dates of existing orders
+    void markDirtyOrders(Collection<String> orderIds);
+
+    // Transaction-scoped lock so only one node refreshes at a time
+    boolean tryLockRollupRefresh();
+
+    void lockRollupRefresh();
+
+    // Removes and returns up to limit dirty days, oldest first
+    List<LocalDate> claimDirtyDays(int limit);
+
+    // Replaces the rollup rows of the given days with fresh aggregates
+    void refreshDays(List<LocalDate> days);
+
+    // Replaces every rollup row and clears the dirty days
+    void rebuildAll();
+}
@@ -0,0 +1,126 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.choocapi.ecommercebackend.utils.DateTimeUtil;
+
+public class SalesRollupRefreshRepositoryImpl implements SalesRollupRefreshRepository {
+
+    private static final long ROLLUP_REFRESH_LOCK_KEY = "sales-rollup-refresh".hashCode();
+
+    // Business-zone calendar day of an order
+    private static final String ORDER_DAY = "(o.ordered_at AT TIME ZONE '" + DateTimeUtil.BUSINESS_ZONE_ID + "')::date";
+
+    // Orders placed on one of the days bound as a date[] parameter, range predicates keep ordered_at indexable
+    private static final String ORDERS_OF_DAYS = """
+            FROM unnest(?::date[]) AS d(day)
+            JOIN orders o ON o.ordered_at >= (d.day::timestamp AT TIME ZONE '%1$s')
+                AND o.ordered_at < ((d.day + 1)::timestamp AT TIME ZONE '%1$s')
+            """.formatted(DateTimeUtil.BUSINESS_ZONE_ID);
+
+    private static final String INSERT_SALES = """
+            INSERT INTO sales_daily_rollups (day, payment_method, status, order_count, revenue, discount_amount)
+            SELECT %s, COALESCE(o.payment_method, 'UNKNOWN'), o.status,
+                   COUNT(*), COALESCE(SUM(o.total_amount), 0), COALESCE(SUM(o.discount_amount), 0)
+            %s
+            GROUP BY 1, 2, 3
+            """;
+
+    private static final String INSERT_PRODUCT_SALES = """
+            INSERT INTO product_sales_daily_rollups (day, payment_method, status, category_id, product_id, quantity, revenue)
+            SELECT %s, COALESCE(o.payment_method, 'UNKNOWN'), o.status, p.category_id, oi.product_id,
+                   SUM(oi.quantity), COALESCE(SUM(oi.total_price), 0)
+            %s
+            JOIN order_items oi ON oi.order_id = o.id
+            JOIN products p ON p.id = oi.product_id
+            GROUP BY 1, 2, 3, 4, 5
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupRefreshRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void markDirtyDays(Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>();
+        days.stream().distinct().forEach(day -> args.add(new Object[] {Date.valueOf(day)}));
+        jdbcTemplate.batchUpdate("INSERT INTO sales_rollup_dirty_days (day) VALUES (?) ON CONFLICT DO NOTHING", args);
+    }
+
+    @Override
+    public void markDirtyOrders(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO sales_rollup_dirty_days (day) SELECT DISTINCT " + ORDER_DAY
+                + " FROM orders o WHERE o.id = ANY (?) ON CONFLICT DO NOTHING";
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("varchar", orderIds.toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    public boolean tryLockRollupRefresh() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ROLLUP_REFRESH_LOCK_KEY));
+    }
+
+    @Override
+    public void lockRollupRefresh() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ROLLUP_REFRESH_LOCK_KEY);
+    }
+
+    @Override
+    public List<LocalDate> claimDirtyDays(int limit) {
+        return jdbcTemplate.queryForList("""
+                DELETE FROM sales_rollup_dirty_days
+                WHERE day IN (SELECT day FROM sales_rollup_dirty_days ORDER BY day LIMIT ?)
+                RETURNING day
+                """, Date.class, limit)
+                .stream()
+                .map(Date::toLocalDate)
+                .toList();
+    }
+
+    @Override
+    public void refreshDays(List<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        updateWithDays("DELETE FROM sales_daily_rollups WHERE day = ANY (?::date[])", days);
+        updateWithDays("DELETE FROM product_sales_daily_rollups WHERE day = ANY (?::date[])", days);
+        updateWithDays(INSERT_SALES.formatted("d.day", ORDERS_OF_DAYS), days);
+        updateWithDays(INSERT_PRODUCT_SALES.formatted("d.day", ORDERS_OF_DAYS), days);
+    }
+
+    @Override
+    public void rebuildAll() {
+        jdbcTemplate.update("DELETE FROM sales_rollup_dirty_days");
+        jdbcTemplate.update("DELETE FROM sales_daily_rollups");
+        jdbcTemplate.update("DELETE FROM product_sales_daily_rollups");
+        jdbcTemplate.update(INSERT_SALES.formatted(ORDER_DAY, "FROM orders o"));
+        jdbcTemplate.update(INSERT_PRODUCT_SALES.formatted(ORDER_DAY, "FROM orders o"));
+    }
+
+    private void updateWithDays(String sql, List<LocalDate> days) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("date", days.stream().map(Date::valueOf).toArray()));
+            return statement;
+        });
+    }
+}
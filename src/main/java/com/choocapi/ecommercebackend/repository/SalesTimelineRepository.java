@@ -0,0 +1,13 @@
+package com.choocapi.ecommercebackend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.choocapi.ecommercebackend.enums.TimelineGranularity;
+
+// Revenue and order timelines bucketed in the business time zone
+public interface SalesTimelineRepository {
+
+    // [bucket start (LocalDateTime), revenue, orderCount] for every bucket touching [from, to], empty buckets as zero
+    List<Object[]> sumByBucket(LocalDate from, LocalDate to, TimelineGranularity granularity);
+}
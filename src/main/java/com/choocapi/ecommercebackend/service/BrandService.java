@@ -1,9 +1,12 @@
 package com.choocapi.ecommercebackend.service;
 
+import java.util.Objects;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import com.choocapi.ecommercebackend.dto.request.BrandRequest;
@@ -13,6 +16,7 @@ import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.BrandMapper;
 import com.choocapi.ecommercebackend.repository.BrandRepository;
+import com.choocapi.ecommercebackend.repository.ProductRepository;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +28,8 @@ import lombok.experimental.FieldDefaults;
 public class BrandService {
     BrandRepository brandRepository;
     BrandMapper brandMapper;
+    ProductRepository productRepository;
+    ProductCacheInvalidator productCacheInvalidator;
 
     public BrandResponse create(BrandRequest request) {
         if (brandRepository.existsBySlug(request.getSlug())) {
@@ -44,15 +50,25 @@ public class BrandService {
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND)));
     }
 
+    @Transactional
     public BrandResponse update(Long id, BrandRequest request) {
         Brand brand = brandRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        String previousName = brand.getName();
         brandMapper.update(brand, request);
-        return brandMapper.toResponse(brandRepository.save(brand));
+        brand = brandRepository.saveAndFlush(brand);
+        // The brand name is part of its products' search text
+        if (!Objects.equals(previousName, brand.getName())) {
+            productRepository.refreshSearchTitlesByBrand(id);
+        }
+        // Cached product details embed the brand
+        productCacheInvalidator.evictAll();
+        return brandMapper.toResponse(brand);
     }
 
     public void delete(Long id) {
         brandRepository.deleteById(id);
+        productCacheInvalidator.evictAll();
     }
 
     private Specification<Brand> buildSpecification(String search) {
@@ -1,9 +1,13 @@
 package com.choocapi.ecommercebackend.service;
 
+import java.util.List;
+import java.util.Objects;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import com.choocapi.ecommercebackend.dto.request.CategoryRequest;
@@ -13,6 +17,7 @@ import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.CategoryMapper;
 import com.choocapi.ecommercebackend.repository.CategoryRepository;
+import com.choocapi.ecommercebackend.repository.ProductRepository;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +29,9 @@ import lombok.experimental.FieldDefaults;
 public class CategoryService {
     CategoryRepository categoryRepository;
     CategoryMapper categoryMapper;
+    CategoryTreeService categoryTreeService;
+    ProductRepository productRepository;
+    ProductCacheInvalidator productCacheInvalidator;
 
     public CategoryResponse create(CategoryRequest request) {
         if (categoryRepository.existsBySlug(request.getSlug())) {
@@ -36,7 +44,12 @@ public class CategoryService {
                     .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
             category.setParent(parent);
         }
-        category = categoryRepository.save(category);
+        category = categoryRepository.saveAndFlush(category);
+        // The category name is part of its products' search text
+        if (!Objects.equals(previousName, category.getName())) {
+            productRepository.refreshSearchTitlesByCategory(id);
+        }
+        categoryTreeService.invalidate();
         return categoryMapper.toResponse(category);
     }
 
@@ -55,23 +68,47 @@ public class CategoryService {
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND)));
     }
 
+    @Transactional
     public CategoryResponse update(Long id, CategoryRequest request) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        String previousName = category.getName();
 
         categoryMapper.update(category, request);
 
         if (request.getParentId() != null) {
+            // A category cannot be moved under itself or one of its descendants
+            if (categoryTreeService.subtreeIds(id).contains(request.getParentId())) {
+                throw new AppException(ErrorCode.INVALID_REQUEST);
+            }
             Category parent = categoryRepository.findById(request.getParentId())
                     .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
             category.setParent(parent);
         }
 
-        return categoryMapper.toResponse(categoryRepository.save(category));
+        category = categoryRepository.saveAndFlush(category);
+        // The category name is part of its products' search text
+        if (!Objects.equals(previousName, category.getName())) {
+            productRepository.refreshSearchTitlesByCategory(id);
+        }
+        categoryTreeService.invalidate();
+        // Cached product details embed the category
+        productCacheInvalidator.evictAll();
+        return categoryMapper.toResponse(category);
     }
 
     public void delete(Long id) {
         categoryRepository.deleteById(id);
+        categoryTreeService.invalidate();
+        productCacheInvalidator.evictAll();
+    }
+
+    public List<CategoryResponse> getBreadcrumbs(String slug) {
+        Category category = categoryTreeService.findBySlug(slug)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        return categoryTreeService.ancestorPath(category.getId()).stream()
+                .map(categoryMapper::toResponse)
+                .toList();
     }
 
     private Specification<Category> buildSpecification(String search) {
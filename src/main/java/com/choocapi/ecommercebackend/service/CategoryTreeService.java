@@ -0,0 +1,142 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.choocapi.ecommercebackend.entity.Category;
+import com.choocapi.ecommercebackend.repository.CategoryRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory snapshot of the category tree
+ * Loaded with a single query on first use and invalidated by CategoryService writes,
+ * so subtree and breadcrumb lookups need no database round trips
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class CategoryTreeService {
+    CategoryRepository categoryRepository;
+
+    // Bumped on every invalidation so a rebuild that raced with a write is not cached
+    AtomicLong version = new AtomicLong();
+
+    @NonFinal
+    volatile Snapshot snapshot;
+
+    public Optional<Category> findBySlug(String slug) {
+        return Optional.ofNullable(current().bySlug.get(slug));
+    }
+
+    /**
+     * Ids of the category and all of its descendants, empty if the category does not exist
+     */
+    public Set<Long> subtreeIds(Long categoryId) {
+        return current().subtreeIds.getOrDefault(categoryId, Set.of());
+    }
+
+    /**
+     * Path from the root category down to (and including) the given category
+     */
+    public List<Category> ancestorPath(Long categoryId) {
+        return current().paths.getOrDefault(categoryId, List.of());
+    }
+
+    public List<Category> children(Long categoryId) {
+        return current().children.getOrDefault(categoryId, List.of());
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null) {
+                long expectedVersion = version.get();
+                current = Snapshot.of(categoryRepository.findAll());
+                if (version.get() == expectedVersion) {
+                    snapshot = current;
+                }
+                log.debug("Category tree rebuilt with {} categories", current.bySlug.size());
+            }
+            return current;
+        }
+    }
+
+    private static final class Snapshot {
+        final Map<String, Category> bySlug = new HashMap<>();
+        final Map<Long, List<Category>> children = new HashMap<>();
+        final Map<Long, Set<Long>> subtreeIds = new HashMap<>();
+        final Map<Long, List<Category>> paths = new HashMap<>();
+
+        static Snapshot of(List<Category> categories) {
+            Snapshot snapshot = new Snapshot();
+            Map<Long, Category> byId = new HashMap<>();
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                snapshot.bySlug.put(category.getSlug(), category);
+            }
+            Map<Long, List<Category>> children = new HashMap<>();
+            for (Category category : categories) {
+                if (category.getParent() != null) {
+                    children.computeIfAbsent(category.getParent().getId(), id -> new ArrayList<>()).add(category);
+                }
+            }
+            children.forEach((id, list) -> snapshot.children.put(id, List.copyOf(list)));
+
+            for (Category category : categories) {
+                snapshot.subtreeIds.put(category.getId(), Collections.unmodifiableSet(collectSubtree(category.getId(), children)));
+                snapshot.paths.put(category.getId(), List.copyOf(collectPath(category, byId)));
+            }
+            return snapshot;
+        }
+
+        private static Set<Long> collectSubtree(Long rootId, Map<Long, List<Category>> children) {
+            Set<Long> result = new LinkedHashSet<>();
+            List<Long> pending = new ArrayList<>(List.of(rootId));
+            while (!pending.isEmpty()) {
+                Long id = pending.remove(pending.size() - 1);
+                if (result.add(id)) {
+                    children.getOrDefault(id, List.of()).forEach(child -> pending.add(child.getId()));
+                }
+            }
+            return result;
+        }
+
+        private static List<Category> collectPath(Category category, Map<Long, Category> byId) {
+            List<Category> path = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            Category current = category;
+            // The seen set guards against a corrupted parent cycle
+            while (current != null && seen.add(current.getId())) {
+                path.add(current);
+                current = current.getParent() == null ? null : byId.get(current.getParent().getId());
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+}
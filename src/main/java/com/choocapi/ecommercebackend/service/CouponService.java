@@ -8,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.choocapi.ecommercebackend.dto.request.CouponRequest;
 import com.choocapi.ecommercebackend.dto.response.CouponResponse;
@@ -16,6 +17,7 @@ import com.choocapi.ecommercebackend.enums.CouponType;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.CouponMapper;
+import com.choocapi.ecommercebackend.repository.CouponRedemptionRepository;
 import com.choocapi.ecommercebackend.repository.CouponRepository;
 
 import jakarta.persistence.criteria.Predicate;
@@ -28,7 +30,9 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class CouponService {
     CouponRepository repository;
+    CouponRedemptionRepository couponRedemptionRepository;
     CouponMapper mapper;
+    OptimisticRetryExecutor optimisticRetryExecutor;
 
     public CouponResponse create(CouponRequest request) {
         if (repository.existsByCode(request.getCode())) {
@@ -71,19 +75,23 @@ public class CouponService {
     }
 
     public CouponResponse update(Long id, CouponRequest request) {
-        Coupon entity = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        if (request.getCode() != null && !request.getCode().equals(entity.getCode()) && repository.existsByCode(request.getCode())) {
-            throw new AppException(ErrorCode.DUPLICATE_ENTRY);
-        }
-        if (request.getStartDate() != null || request.getEndDate() != null) {
-            validateDates(request.getStartDate() != null ? request.getStartDate() : entity.getStartDate(),
-                    request.getEndDate() != null ? request.getEndDate() : entity.getEndDate());
-        }
-        mapper.update(entity, request);
-        return mapper.toResponse(repository.save(entity));
+        return optimisticRetryExecutor.execute("coupon.update", () -> {
+            Coupon entity = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+            if (request.getCode() != null && !request.getCode().equals(entity.getCode()) && repository.existsByCode(request.getCode())) {
+                throw new AppException(ErrorCode.DUPLICATE_ENTRY);
+            }
+            if (request.getStartDate() != null || request.getEndDate() != null) {
+                validateDates(request.getStartDate() != null ? request.getStartDate() : entity.getStartDate(),
+                        request.getEndDate() != null ? request.getEndDate() : entity.getEndDate());
+            }
+            mapper.update(entity, request);
+            return mapper.toResponse(repository.save(entity));
+        });
     }
 
+    @Transactional
     public void delete(Long id) {
+        couponRedemptionRepository.deleteByCouponId(id);
         repository.deleteById(id);
     }
 
@@ -0,0 +1,276 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.choocapi.ecommercebackend.dto.response.statistics.DashboardDeltaResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.LowStockProductResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.StatisticsResponse;
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+import com.choocapi.ecommercebackend.event.InventoryChangedEvent;
+import com.choocapi.ecommercebackend.event.OrderChangedEvent;
+import com.choocapi.ecommercebackend.event.SalesRollupRefreshedEvent;
+import com.choocapi.ecommercebackend.repository.ProductRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live dashboard over Server-Sent Events: a "snapshot" event on connect, then "delta" events with KPI changes
+ * Order events are folded into a pending delta per client and flushed at most once per flush-interval;
+ * a client whose previous write has not finished keeps coalescing instead of queueing, so a slow client
+ * costs one bounded delta and never delays the others
+ * Low-stock crossings are detected with one query per flush, whatever the number of clients
+ * Each rollup refresh pushes a fresh "snapshot" so clients resync instead of drifting on deltas alone
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DashboardStreamService {
+    static final int MAX_LOW_STOCK_PER_PUSH = 50;
+
+    StatisticsSnapshotService statisticsSnapshotService;
+    StatisticsService statisticsService;
+    ProductRepository productRepository;
+    Set<Client> clients = ConcurrentHashMap.newKeySet();
+    ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    AtomicBoolean stockChanged = new AtomicBoolean();
+
+    // Products at or below the threshold at the last check, null until someone is watching
+    @NonFinal
+    Set<Long> lowStockIds;
+
+    @NonFinal
+    @Value("${statistics.stream.timeout}")
+    Duration timeout;
+
+    @NonFinal
+    @Value("${statistics.stream.heartbeat-interval}")
+    Duration heartbeatInterval;
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(ex -> clients.remove(client));
+        // Baseline the deltas are applied to; registered only once it is out, so no delta can precede it
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(statisticsSnapshotService.getStatistics(null)));
+            clients.add(client);
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        stockChanged.set(true);
+        clients.forEach(client -> client.apply(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        stockChanged.set(true);
+    }
+
+    // Computed once for all clients, bypassing the snapshot cache that the same event has just made stale
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesRollupRefreshed(SalesRollupRefreshedEvent event) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        StatisticsResponse snapshot = statisticsService.getStatistics(null);
+        clients.forEach(client -> client.resync(snapshot));
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.stream.flush-interval}")
+    public void flush() {
+        if (clients.isEmpty()) {
+            lowStockIds = null;
+            return;
+        }
+        List<LowStockProductResponse> crossed = detectLowStockCrossings();
+        long now = System.nanoTime();
+        for (Client client : clients) {
+            client.addLowStock(crossed);
+            client.flush(now);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.forEach(client -> client.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    private List<LowStockProductResponse> detectLowStockCrossings() {
+        boolean changed = stockChanged.getAndSet(false);
+        if (lowStockIds != null && !changed) {
+            return List.of();
+        }
+        Map<Long, LowStockProductResponse> current = new LinkedHashMap<>();
+        for (Object[] row : productRepository.findLowStockProducts()) {
+            Long productId = ((Number) row[0]).longValue();
+            current.put(productId, LowStockProductResponse.builder()
+                    .productId(productId)
+                    .productName((String) row[1])
+                    .quantity(row[2] != null ? ((Number) row[2]).intValue() : null)
+                    .build());
+        }
+        Set<Long> previous = lowStockIds;
+        lowStockIds = current.keySet();
+        if (previous == null) {
+            return List.of();
+        }
+        return current.values().stream()
+                .filter(product -> !previous.contains(product.getProductId()))
+                .toList();
+    }
+
+    private final class Client {
+        private final SseEmitter emitter;
+        private long orders;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private final Map<String, Long> statusCounts = new HashMap<>();
+        private final Map<Long, LowStockProductResponse> lowStock = new LinkedHashMap<>();
+        private StatisticsResponse snapshot;
+        private boolean pending;
+        private boolean sending;
+        private long lastSentAt = System.nanoTime();
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void apply(OrderChangedEvent event) {
+            switch (event.getType()) {
+                case CREATED -> {
+                    orders += event.getOrderIds().size();
+                    addRevenue(event.getTotalAmount(), false);
+                    addStatus(event.getStatus(), event.getOrderIds().size());
+                }
+                case DELETED -> {
+                    orders -= event.getOrderIds().size();
+                    addRevenue(event.getTotalAmount(), true);
+                    event.getPreviousStatuses().values().forEach(status -> addStatus(status, -1));
+                }
+                case STATUS_CHANGED -> {
+                    event.getPreviousStatuses().values().forEach(status -> addStatus(status, -1));
+                    addStatus(event.getStatus(), event.getPreviousStatuses().size());
+                    addRevenue(event.getTotalDelta(), false);
+                }
+                // Shipping edits leave the pushed KPIs alone, a coupon moves the revenue
+                case UPDATED -> {
+                    if (event.getTotalDelta().signum() == 0) {
+                        return;
+                    }
+                    addRevenue(event.getTotalDelta(), false);
+                }
+            }
+            pending = true;
+        }
+
+        // Replaces the baseline, superseding the order deltas folded so far; pending low-stock crossings stay
+        synchronized void resync(StatisticsResponse statistics) {
+            snapshot = statistics;
+            orders = 0;
+            revenue = BigDecimal.ZERO;
+            statusCounts.clear();
+            pending = !lowStock.isEmpty();
+        }
+
+        synchronized void addLowStock(List<LowStockProductResponse> crossed) {
+            for (LowStockProductResponse product : crossed) {
+                if (lowStock.size() >= MAX_LOW_STOCK_PER_PUSH) {
+                    break;
+                }
+                lowStock.put(product.getProductId(), product);
+                pending = true;
+            }
+        }
+
+        synchronized void flush(long now) {
+            if (sending) {
+                return;
+            }
+            SseEventBuilder event;
+            if (snapshot != null) {
+                event = SseEmitter.event().name("snapshot").data(snapshot);
+                snapshot = null;
+            } else if (pending) {
+                event = SseEmitter.event().name("delta").data(drain());
+            } else if (now - lastSentAt > heartbeatInterval.toNanos()) {
+                event = SseEmitter.event().comment("heartbeat");
+            } else {
+                return;
+            }
+            sending = true;
+            lastSentAt = now;
+            sender.execute(() -> send(event));
+        }
+
+        private void send(SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping dashboard stream client: {}", ex.getMessage());
+                clients.remove(this);
+            } finally {
+                synchronized (this) {
+                    sending = false;
+                }
+            }
+        }
+
+        private DashboardDeltaResponse drain() {
+            DashboardDeltaResponse delta = DashboardDeltaResponse.builder()
+                    .orders(orders)
+                    .revenue(revenue)
+                    .statusCounts(Map.copyOf(statusCounts))
+                    .lowStockProducts(List.copyOf(lowStock.values()))
+                    .build();
+            orders = 0;
+            revenue = BigDecimal.ZERO;
+            statusCounts.clear();
+            lowStock.clear();
+            pending = false;
+            return delta;
+        }
+
+        private void addRevenue(BigDecimal amount, boolean subtract) {
+            if (amount != null) {
+                revenue = subtract ? revenue.subtract(amount) : revenue.add(amount);
+            }
+        }
+
+        private void addStatus(OrderStatus status, long count) {
+            if (status != null) {
+                statusCounts.merge(status.name(), count, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.choocapi.ecommercebackend.enums.ExportFormat;
+import com.choocapi.ecommercebackend.enums.InventoryTransactionType;
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
+import com.choocapi.ecommercebackend.utils.DateTimeUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming exports for finance: rows go from a server-side cursor straight to the response,
+ * so memory stays constant however many rows the date range covers
+ */
+@Service
+public class ExportService {
+    static final int FETCH_SIZE = 1000;
+    static final int EXPORT_TIMEOUT_SECONDS = 3600;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        // PostgreSQL only streams with a fetch size inside a transaction (autocommit off)
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout(EXPORT_TIMEOUT_SECONDS);
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody exportOrders(ExportFormat format, boolean gzip, LocalDate from, LocalDate to,
+            OrderStatus status) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT o.id, o.user_id, u.email AS user_email, o.status, o.payment_method, o.payment_status,
+                       o.subtotal, o.coupon_code, o.discount_amount, o.total_amount,
+                       o.shipping_name, o.shipping_phone, o.shipping_address, o.shipping_ward,
+                       o.shipping_district, o.shipping_city,
+                       o.ordered_at, o.confirmed_at, o.shipped_at, o.delivered_at, o.cancelled_at
+                FROM orders o
+                LEFT JOIN users u ON u.id = o.user_id
+                WHERE o.ordered_at >= ? AND o.ordered_at < ?
+                """);
+        List<Object> args = rangeArgs(from, to);
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+        sql.append(" ORDER BY o.ordered_at, o.id");
+        return stream(sql.toString(), args, format, gzip);
+    }
+
+    public StreamingResponseBody exportOrderItems(ExportFormat format, boolean gzip, LocalDate from, LocalDate to) {
+        String sql = """
+                SELECT oi.order_id, o.ordered_at, o.status AS order_status, oi.product_id, p.sku,
+                       p.name AS product_name, oi.quantity, oi.unit_price, oi.total_price
+                FROM order_items oi
+                JOIN orders o ON o.id = oi.order_id
+                JOIN products p ON p.id = oi.product_id
+                WHERE o.ordered_at >= ? AND o.ordered_at < ?
+                ORDER BY o.ordered_at, oi.order_id, oi.id
+                """;
+        return stream(sql, rangeArgs(from, to), format, gzip);
+    }
+
+    public StreamingResponseBody exportInventoryTransactions(ExportFormat format, boolean gzip, LocalDate from,
+            LocalDate to, Long productId, InventoryTransactionType type) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT t.id, t.created_at, t.type, t.product_id, p.sku, p.name AS product_name,
+                       t.quantity, t.price, t.previous_quantity, t.resulting_quantity,
+                       t.order_id, t.supplier_id, s.name AS supplier_name, t.note
+                FROM inventory_transactions t
+                JOIN products p ON p.id = t.product_id
+                LEFT JOIN suppliers s ON s.id = t.supplier_id
+                WHERE t.created_at >= ? AND t.created_at < ?
+                """);
+        List<Object> args = rangeArgs(from, to);
+        if (productId != null) {
+            sql.append(" AND t.product_id = ?");
+            args.add(productId);
+        }
+        if (type != null) {
+            sql.append(" AND t.type = ?");
+            args.add(type.name());
+        }
+        sql.append(" ORDER BY t.created_at, t.id");
+        return stream(sql.toString(), args, format, gzip);
+    }
+
+    public ExportFormat parseFormat(String format) {
+        try {
+            return format == null ? ExportFormat.CSV : ExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    // [from, to] inclusive business-zone dates -> [from 00:00, day after to 00:00)
+    private List<Object> rangeArgs(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.from(from.atStartOfDay(DateTimeUtil.BUSINESS_ZONE).toInstant()));
+        args.add(Timestamp.from(to.plusDays(1).atStartOfDay(DateTimeUtil.BUSINESS_ZONE).toInstant()));
+        return args;
+    }
+
+    private StreamingResponseBody stream(String sql, List<Object> args, ExportFormat format, boolean gzip) {
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rowWriter = format == ExportFormat.NDJSON ? new NdjsonRowWriter(writer) : new CsvRowWriter(writer);
+            try {
+                // An extractor rather than a row callback, so the header goes out even when no row matches
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.query(sql, (ResultSetExtractor<Void>) rs -> {
+                            try {
+                                rowWriter.start(rs.getMetaData());
+                                while (rs.next()) {
+                                    rowWriter.write(rs);
+                                }
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                            return null;
+                        }, args.toArray()));
+            } catch (UncheckedIOException ex) {
+                // Client went away mid-download
+                throw ex.getCause();
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+    }
+
+    private static Object exportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atZone(DateTimeUtil.BUSINESS_ZONE).toOffsetDateTime().toString();
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        // Called once before the first row, with the column metadata
+        default void start(ResultSetMetaData meta) throws SQLException, IOException {
+        }
+
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        // Numbers and phone numbers such as +84 912 345 678 or -12.5: no formula a spreadsheet could run
+        private static final Pattern NUMERIC = Pattern.compile("[+-]?[0-9][0-9 ().-]*");
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start(ResultSetMetaData meta) throws SQLException, IOException {
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writer.write(meta.getColumnLabel(i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            int columns = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = exportValue(rs.getObject(i));
+                if (value != null) {
+                    writer.write(escape(value));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            String text = value.toString();
+            // Text starting like a formula would be evaluated by spreadsheet apps
+            if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0
+                    && !NUMERIC.matcher(text).matches()) {
+                text = "'" + text;
+            }
+            if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+                return "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            return text;
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            JsonGenerator generator = objectMapper.createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                generator.writeFieldName(meta.getColumnLabel(i));
+                generator.writeObject(exportValue(rs.getObject(i)));
+            }
+            generator.writeEndObject();
+            generator.close();
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.choocapi.ecommercebackend.entity.IdempotencyRecord;
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
+import com.choocapi.ecommercebackend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key support: the first request with a key runs, its response is stored for the TTL
+ * and replayed to any retry with the same key and body
+ * Duplicates arriving while the first is still running wait for its result instead of running again
+ * (in-process futures on the same node, polling the stored record across nodes); a failed request
+ * releases the key and an abandoned one loses it once its lease lapses, so a retry runs again
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 100;
+    static final long POLL_INTERVAL_MS = 100;
+
+    IdempotencyRecordRepository repository;
+    ObjectMapper objectMapper;
+    Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${idempotency.ttl}")
+    Duration ttl;
+
+    @NonFinal
+    @Value("${idempotency.wait-timeout}")
+    Duration waitTimeout;
+
+    // How long an in-flight claim holds the key, must outlast the slowest wrapped action
+    @NonFinal
+    @Value("${idempotency.lease}")
+    Duration lease;
+
+    /**
+     * Run {@code action} at most once per (scope, current user, key)
+     *
+     * @param key the Idempotency-Key header; without one the action simply runs
+     * @param request the request body, a retry must send the same one
+     */
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (!StringUtils.hasText(key)) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+        String userId = currentUserId();
+        String requestHash = hash(request);
+        String inFlightKey = scope + ":" + userId + ":" + key + ":" + requestHash;
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(inFlightKey, future);
+        if (running != null) {
+            return responseType.cast(await(running));
+        }
+        try {
+            T response = executeOnce(scope, userId, key, requestHash, responseType, action);
+            future.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(inFlightKey, future);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired();
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency records", deleted);
+        }
+    }
+
+    private <T> T executeOnce(String scope, String userId, String key, String requestHash, Class<T> responseType,
+            Supplier<T> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        String claimToken = UUID.randomUUID().toString();
+        while (true) {
+            // In flight the record only holds the lease, extended to the TTL once completed
+            if (repository.claim(scope, userId, key, requestHash, claimToken, Instant.now().plus(lease)) > 0) {
+                break;
+            }
+            // Already completed, or still running on another node
+            Optional<T> replayed = replay(scope, userId, key, requestHash, responseType, deadline);
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
+            if (System.nanoTime() > deadline) {
+                throw new AppException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+            }
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            repository.release(scope, userId, key, requestHash, claimToken);
+            throw ex;
+        }
+        if (repository.complete(scope, userId, key, requestHash, claimToken, write(response),
+                Instant.now().plus(ttl)) == 0) {
+            // The lease lapsed and another request took the key over; its result stands
+            log.warn("Idempotency claim on {} for {} was lost before completion", scope, key);
+        }
+        return response;
+    }
+
+    // Waits for the stored response; empty when the key was released or its lease lapsed and can be claimed again
+    private <T> Optional<T> replay(String scope, String userId, String key, String requestHash, Class<T> responseType,
+            long deadline) {
+        while (true) {
+            Optional<IdempotencyRecord> record = repository.findByScopeAndUserIdAndIdempotencyKey(scope, userId, key);
+            if (record.isEmpty()) {
+                // The original request failed and released the key
+                return Optional.empty();
+            }
+            if (!record.get().getRequestHash().equals(requestHash)) {
+                throw new AppException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            if (record.get().getResponseBody() != null) {
+                return Optional.of(read(record.get().getResponseBody(), responseType));
+            }
+            if (record.get().getExpiresAt().isBefore(Instant.now())) {
+                // The node running it went away without completing or releasing
+                return Optional.empty();
+            }
+            if (System.nanoTime() > deadline) {
+                throw new AppException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+            }
+            sleep();
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
+        } catch (TimeoutException ex) {
+            throw new AppException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+    }
+
+    private String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(write(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException ex) {
+            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
+        }
+    }
+}
@@ -1,25 +1,32 @@
 package com.choocapi.ecommercebackend.service;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Locale;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.choocapi.ecommercebackend.dto.request.InventoryTransactionRequest;
+import com.choocapi.ecommercebackend.dto.response.CursorPageResponse;
 import com.choocapi.ecommercebackend.dto.response.InventoryTransactionResponse;
 import com.choocapi.ecommercebackend.entity.InventoryTransaction;
 import com.choocapi.ecommercebackend.entity.Product;
 import com.choocapi.ecommercebackend.entity.Supplier;
 import com.choocapi.ecommercebackend.enums.InventoryTransactionType;
+import com.choocapi.ecommercebackend.event.InventoryChangedEvent;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.InventoryTransactionMapper;
 import com.choocapi.ecommercebackend.repository.InventoryTransactionRepository;
 import com.choocapi.ecommercebackend.repository.ProductRepository;
 import com.choocapi.ecommercebackend.repository.SupplierRepository;
+import com.choocapi.ecommercebackend.utils.CursorUtil;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -34,8 +41,18 @@ public class InventoryTransactionService {
     ProductRepository productRepository;
     SupplierRepository supplierRepository;
     InventoryTransactionMapper mapper;
+    ProductCacheInvalidator productCacheInvalidator;
+    OptimisticRetryExecutor optimisticRetryExecutor;
+    ApplicationEventPublisher eventPublisher;
 
     public InventoryTransactionResponse create(InventoryTransactionRequest request) {
+        // Quantity is computed from the loaded product, replay on a concurrent stock change
+        InventoryTransactionResponse response = optimisticRetryExecutor.execute("inventory.create", () -> doCreate(request));
+        eventPublisher.publishEvent(new InventoryChangedEvent(request.getProductId()));
+        return response;
+    }
+
+    private InventoryTransactionResponse doCreate(InventoryTransactionRequest request) {
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
 
@@ -74,6 +91,7 @@ public class InventoryTransactionService {
 
         product.setQuantity(resultingQuantity);
         productRepository.save(product);
+        productCacheInvalidator.evict(product);
 
         InventoryTransaction entity = InventoryTransaction.builder()
                 .product(product)
@@ -111,6 +129,30 @@ public class InventoryTransactionService {
         return page.map(mapper::toResponse);
     }
 
+    /**
+     * Keyset-paginated transaction listing, newest id first, optionally for one product and type
+     */
+    public CursorPageResponse<InventoryTransactionResponse> listByCursor(String cursor, Integer size, Long productId,
+            InventoryTransactionType type) {
+        int pageSize = CursorUtil.clampSize(size);
+        Specification<InventoryTransaction> specification = (root, query, cb) -> cb.conjunction();
+        if (productId != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("product").get("id"), productId));
+        }
+        if (type != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("type"), type));
+        }
+        String[] keys = CursorUtil.decode(cursor, 1);
+        if (keys != null) {
+            Long lastId = CursorUtil.parseKey(keys[0], Long::valueOf);
+            specification = specification.and((root, query, cb) -> cb.lessThan(root.get("id"), lastId));
+        }
+        List<InventoryTransaction> rows = repository.findBy(specification,
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(pageSize + 1).all());
+        return CursorPageResponse.of(rows, pageSize,
+                transaction -> CursorUtil.encode(transaction.getId()), mapper::toResponse);
+    }
+
     public InventoryTransactionResponse get(Long id) {
         InventoryTransaction transaction = repository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
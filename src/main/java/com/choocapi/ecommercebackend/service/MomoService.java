@@ -21,7 +21,6 @@ import org.springframework.transaction.annotation.Transactional;
 import com.choocapi.ecommercebackend.configuration.MomoConfig;
 import com.choocapi.ecommercebackend.dto.response.PaymentResponse;
 import com.choocapi.ecommercebackend.entity.Order;
-import com.choocapi.ecommercebackend.enums.OrderStatus;
 import com.choocapi.ecommercebackend.enums.PaymentStatus;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
@@ -40,6 +39,7 @@ public class MomoService {
 
 	MomoConfig momoConfig;
 	OrderRepository orderRepository;
+	OrderPaymentService orderPaymentService;
 
 	public PaymentResponse createPaymentRequest(String orderId, Long amount) {
 		try {
@@ -204,29 +204,24 @@ public class MomoService {
 
 			// Process payment status
 			if ("0".equals(resultCode)) {
-				order.setPaymentStatus(PaymentStatus.PAID);
-				order.setStatus(OrderStatus.PROCESSING);
-				orderRepository.save(order);
-
-				result.put("status", "success");
-				result.put("message", "Payment successful");
+				if (orderPaymentService.markPaid(order)) {
+					result.put("status", "success");
+					result.put("message", "Payment successful");
+				} else {
+					result.put("status", "failed");
+					result.put("message", "Order was cancelled, payment will be refunded");
+				}
 				result.put("orderId", order.getId());
 			} else if ("9000".equals(resultCode)) {
 				// Processing
-				if (order.getPaymentStatus() != PaymentStatus.PAID) {
-					order.setPaymentStatus(PaymentStatus.PENDING);
-					orderRepository.save(order);
-				}
+				orderPaymentService.updatePendingPaymentStatus(order, PaymentStatus.PENDING);
 
 				result.put("status", "processing");
 				result.put("message", "Payment is processing");
 				result.put("orderId", order.getId());
 			} else {
 				// Payment failed
-				if (order.getPaymentStatus() != PaymentStatus.PAID) {
-					order.setPaymentStatus(PaymentStatus.FAILED);
-					orderRepository.save(order);
-				}
+				orderPaymentService.updatePendingPaymentStatus(order, PaymentStatus.FAILED);
 
 				result.put("status", "failed");
 				result.put("message", "Payment failed");
@@ -0,0 +1,68 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a read-modify-write on versioned entities (Product, Coupon) in its own transaction
+ * and replays it from scratch when a concurrent writer bumped the version first
+ * Metrics: optimistic.lock.conflicts / retries / exhausted, tagged by operation
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OptimisticRetryExecutor {
+    static final int MAX_ATTEMPTS = 4;
+    static final long BASE_BACKOFF_MS = 10;
+    static final long MAX_BACKOFF_MS = 200;
+
+    TransactionTemplate transactionTemplate;
+    MeterRegistry meterRegistry;
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        // Inside a caller's transaction the stale persistence context cannot be replayed, the caller owns the retry
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException ex) {
+                meterRegistry.counter("optimistic.lock.conflicts", "operation", operation).increment();
+                if (attempt >= MAX_ATTEMPTS) {
+                    meterRegistry.counter("optimistic.lock.exhausted", "operation", operation).increment();
+                    log.warn("Giving up {} after {} conflicting attempts", operation, attempt);
+                    throw new AppException(ErrorCode.CONCURRENT_MODIFICATION);
+                }
+                meterRegistry.counter("optimistic.lock.retries", "operation", operation).increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    // Exponential backoff with full jitter so colliding writers on a hot row spread out
+    private void backoff(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.CONCURRENT_MODIFICATION);
+        }
+    }
+}
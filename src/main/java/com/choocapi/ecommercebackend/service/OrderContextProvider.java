@@ -1,8 +1,11 @@
 package com.choocapi.ecommercebackend.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.choocapi.ecommercebackend.dto.context.OrderContext;
@@ -21,16 +24,19 @@ import lombok.experimental.FieldDefaults;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrderContextProvider {
+    // Most recent orders handed to the chatbot; older ones are only counted
+    static final int CONTEXT_ORDER_WINDOW = 10;
+
     OrderRepository orderRepository;
     OrderItemRepository orderItemRepository;
 
     /**
      * Get order context for an authenticated user
-     * Returns recent orders with sanitized data (no sensitive payment info)
+     * Returns the most recent orders with sanitized data (no sensitive payment info)
      * 
      * @param user The authenticated user
-     * @param query Optional query string for filtering (currently unused, returns all user orders)
-     * @return OrderContext containing user's orders
+     * @param query Optional query string for filtering (currently unused)
+     * @return OrderContext with the latest CONTEXT_ORDER_WINDOW orders and the user's total order count
      */
     public OrderContext getOrderContext(User user, String query) {
         if (user == null) {
@@ -40,17 +46,12 @@ public class OrderContextProvider {
                     .build();
         }
 
-        // Get user's orders sorted by most recent first
-        List<Order> orders = orderRepository.findByUserOrderByOrderedAtDesc(user);
-        
-        // Map to sanitized summaries
-        List<OrderSummary> orderSummaries = orders.stream()
-                .map(this::sanitizeOrderData)
-                .collect(Collectors.toList());
-        
+        // Get user's most recent orders
+        List<OrderSummary> orderSummaries = getRecentOrders(user, CONTEXT_ORDER_WINDOW);
+
         return OrderContext.builder()
                 .orders(orderSummaries)
-                .totalOrders(orderSummaries.size())
+                .totalOrders((int) orderRepository.countByUser(user))
                 .build();
     }
 
@@ -85,11 +86,19 @@ public class OrderContextProvider {
             return List.of();
         }
 
-        List<Order> orders = orderRepository.findByUserOrderByOrderedAtDesc(user);
-        
+        List<Order> orders = orderRepository.findByUserOrderByOrderedAtDescIdDesc(user, Limit.of(limit));
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        // Item counts for the whole window in one grouped query
+        Map<String, Integer> itemCounts = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumQuantityByOrderIds(orders.stream().map(Order::getId).toList())) {
+            itemCounts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+
         return orders.stream()
-                .limit(limit)
-                .map(this::sanitizeOrderData)
+                .map(order -> toSummary(order, itemCounts.getOrDefault(order.getId(), 0)))
                 .collect(Collectors.toList());
     }
 
@@ -111,6 +120,10 @@ public class OrderContextProvider {
                 .mapToInt(OrderItem::getQuantity)
                 .sum();
 
+        return toSummary(order, itemCount);
+    }
+
+    private OrderSummary toSummary(Order order, int itemCount) {
         // Build summary without sensitive payment information
         // Excludes: vnPayOrderId, momoOrderId, zalopayOrderId
         return OrderSummary.builder()
@@ -0,0 +1,90 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+import com.choocapi.ecommercebackend.event.OrderChangedEvent;
+import com.choocapi.ecommercebackend.repository.OrderRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cancels online-payment orders that were never paid within the TTL and releases their reserved stock and coupon uses
+ * Same outcome as OrderService.cancelOrder, but set-based and one batch per transaction
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderExpiryService {
+    OrderRepository orderRepository;
+    ProductCacheInvalidator productCacheInvalidator;
+    TransactionTemplate transactionTemplate;
+    MeterRegistry meterRegistry;
+    ApplicationEventPublisher eventPublisher;
+
+    // Keep above the payment gateways' own timeout so a late callback never finds a cancelled order
+    @NonFinal
+    @Value("${order.reservation.ttl}")
+    Duration ttl;
+
+    @NonFinal
+    @Value("${order.reservation.sweep-batch-size}")
+    int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.reservation.sweep-interval}",
+            initialDelayString = "${order.reservation.sweep-interval}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(ttl);
+        int total = 0;
+        int cancelled;
+        do {
+            cancelled = sweepBatch(cutoff);
+            total += Math.max(cancelled, 0);
+        } while (cancelled == batchSize);
+
+        if (total > 0) {
+            meterRegistry.counter("orders.reservation.expired").increment(total);
+            log.info("Cancelled {} unpaid orders placed before {}", total, cutoff);
+        }
+    }
+
+    /**
+     * @return the number of cancelled orders, or -1 if another node holds the sweep lock
+     */
+    private int sweepBatch(Instant cutoff) {
+        Integer cancelled = transactionTemplate.execute(status -> {
+            if (!orderRepository.tryLockExpirySweep()) {
+                return -1;
+            }
+            List<String> orderIds = orderRepository.cancelExpiredUnpaid(cutoff, batchSize);
+            Map<Long, String> released = orderRepository.releaseReservations(orderIds);
+            released.forEach(productCacheInvalidator::evict);
+            orderRepository.releaseCoupons(orderIds);
+            // Only PENDING orders qualify for the sweep; most sweeps find none and publish nothing
+            if (!orderIds.isEmpty()) {
+                eventPublisher.publishEvent(OrderChangedEvent.of(
+                        orderIds.stream().collect(Collectors.toMap(Function.identity(), id -> OrderStatus.PENDING)),
+                        OrderStatus.CANCELLED));
+            }
+            return orderIds.size();
+        });
+        return cancelled != null ? cancelled : 0;
+    }
+}
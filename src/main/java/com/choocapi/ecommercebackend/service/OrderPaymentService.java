@@ -0,0 +1,60 @@
+package com.choocapi.ecommercebackend.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.choocapi.ecommercebackend.entity.Order;
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+import com.choocapi.ecommercebackend.enums.PaymentStatus;
+import com.choocapi.ecommercebackend.event.OrderChangedEvent;
+import com.choocapi.ecommercebackend.repository.OrderRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies payment gateway callbacks to orders with conditional updates
+ * The expiry sweep and cancellations release stock and coupons without touching the entity a callback holds,
+ * so only an order still PENDING at update time may move; a payment for a cancelled order is flagged for refund
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderPaymentService {
+    OrderRepository orderRepository;
+    ApplicationEventPublisher eventPublisher;
+
+    /**
+     * PENDING -> PROCESSING with payment PAID; {@code order} is updated to match
+     *
+     * @return false when the order had been cancelled, it is then left cancelled and marked REFUND_PENDING
+     */
+    @Transactional
+    public boolean markPaid(Order order) {
+        if (orderRepository.markPaid(order.getId()) > 0) {
+            order.setStatus(OrderStatus.PROCESSING);
+            order.setPaymentStatus(PaymentStatus.PAID);
+            eventPublisher.publishEvent(OrderChangedEvent.of(order, OrderStatus.PENDING));
+            return true;
+        }
+        if (orderRepository.flagForRefund(order.getId()) > 0) {
+            log.warn("Payment received for cancelled order {}, flagged for refund", order.getId());
+            order.setPaymentStatus(PaymentStatus.REFUND_PENDING);
+            return false;
+        }
+        // Already paid by an earlier callback
+        return true;
+    }
+
+    // Records a failed or still-processing payment, unless the order has been paid or left PENDING meanwhile
+    @Transactional
+    public void updatePendingPaymentStatus(Order order, PaymentStatus paymentStatus) {
+        if (orderRepository.updatePendingPaymentStatus(order.getId(), paymentStatus.name()) > 0) {
+            order.setPaymentStatus(paymentStatus);
+        }
+    }
+}
@@ -2,20 +2,31 @@ package com.choocapi.ecommercebackend.service;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.choocapi.ecommercebackend.configuration.PostgresFunctionContributor;
 import com.choocapi.ecommercebackend.dto.request.OrderItemRequest;
 import com.choocapi.ecommercebackend.dto.request.OrderRequest;
-import com.choocapi.ecommercebackend.dto.response.CartItemResponse;
+import com.choocapi.ecommercebackend.dto.response.BulkOrderActionResponse;
+import com.choocapi.ecommercebackend.dto.response.BulkOrderResultResponse;
+import com.choocapi.ecommercebackend.dto.response.CursorPageResponse;
 import com.choocapi.ecommercebackend.dto.response.OrderItemResponse;
 import com.choocapi.ecommercebackend.dto.response.OrderResponse;
 import com.choocapi.ecommercebackend.entity.Coupon;
@@ -27,16 +38,23 @@ import com.choocapi.ecommercebackend.enums.CouponType;
 import com.choocapi.ecommercebackend.enums.OrderStatus;
 import com.choocapi.ecommercebackend.enums.PaymentMethod;
 import com.choocapi.ecommercebackend.enums.PaymentStatus;
+import com.choocapi.ecommercebackend.event.OrderChangedEvent;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.ProductMapper;
 import com.choocapi.ecommercebackend.mapper.UserMapper;
+import com.choocapi.ecommercebackend.repository.CartItemRepository;
+import com.choocapi.ecommercebackend.repository.CouponRedemptionRepository;
 import com.choocapi.ecommercebackend.repository.CouponRepository;
 import com.choocapi.ecommercebackend.repository.OrderItemRepository;
 import com.choocapi.ecommercebackend.repository.OrderRepository;
 import com.choocapi.ecommercebackend.repository.ProductRepository;
 import com.choocapi.ecommercebackend.repository.UserRepository;
+import com.choocapi.ecommercebackend.utils.CursorUtil;
 
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -45,15 +63,21 @@ import lombok.experimental.FieldDefaults;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrderService {
+    static final int MAX_BULK_ORDERS = 500;
+
     OrderRepository repository;
     OrderItemRepository itemRepository;
     UserRepository userRepository;
     ProductRepository productRepository;
     CouponRepository couponRepository;
-    CartItemService cartItemService;
+    CouponRedemptionRepository couponRedemptionRepository;
+    CartItemRepository cartItemRepository;
     UserMapper userMapper;
     ProductMapper productMapper;
+    ProductCacheInvalidator productCacheInvalidator;
+    ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public OrderResponse create(OrderRequest request) {
         Order order = Order.builder()
                 .status(request.getStatus() != null ? OrderStatus.valueOf(request.getStatus().toUpperCase()) : OrderStatus.PENDING)
@@ -83,16 +107,10 @@ public class OrderService {
             for (OrderItemRequest itemReq : request.getItems()) {
                 Product product = productRepository.findById(itemReq.getProductId())
                         .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-                
-                // Check available quantity (quantity - reservedQuantity)
-                Integer currentQuantity = product.getQuantity() != null ? product.getQuantity() : 0;
-                Integer currentReservedQuantity = product.getReservedQuantity() != null ? product.getReservedQuantity() : 0;
-                Integer availableQuantity = currentQuantity - currentReservedQuantity;
-                
-                if (availableQuantity < itemReq.getQuantity()) {
-                    throw new AppException(ErrorCode.INSUFFICIENT_STOCK);
-                }
-                
+
+                // Reserve quantity atomically (increase reservedQuantity, don't decrease quantity yet)
+                reserveStock(product, itemReq.getQuantity());
+
                 OrderItem item = OrderItem.builder()
                         .order(order)
                         .product(product)
@@ -101,37 +119,70 @@ public class OrderService {
                         .totalPrice(itemReq.getTotalPrice())
                         .build();
                 itemRepository.save(item);
-
-                // Update product: reserve quantity (increase reservedQuantity, don't decrease quantity yet)
-                product.setReservedQuantity(currentReservedQuantity + itemReq.getQuantity());
-                productRepository.save(product);
             }
         }
 
+        eventPublisher.publishEvent(OrderChangedEvent.created(order));
         return toResponse(order);
     }
 
+    private void reserveStock(Product product, int quantity) {
+        if (quantity <= 0) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+        if (productRepository.reserveStock(product.getId(), quantity) == 0) {
+            throw new AppException(ErrorCode.INSUFFICIENT_STOCK);
+        }
+        productCacheInvalidator.evict(product);
+    }
+
     private User getCurrentUser() {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
         return userRepository.findById(userId).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXIST));
     }
 
+    /**
+     * Checkout the current user's cart in one transaction: one query each for the cart lines and products,
+     * then one JDBC batch each for the order items and the stock reservations, and one cart delete
+     */
+    @Transactional
     public OrderResponse createFromCart(OrderRequest request) {
         // Get current user
         User currentUser = getCurrentUser();
-        
-        // Get current user's cart items
-        List<CartItemResponse> cartItemsResponse = cartItemService.list();
-        
-        if (cartItemsResponse.isEmpty()) {
+
+        // Cart lines as [cartItemId, productId, quantity]
+        List<Object[]> cartLines = cartItemRepository.findLinesByUser(currentUser);
+        if (cartLines.isEmpty()) {
             throw new AppException(ErrorCode.INVALID_REQUEST);
         }
 
-        // Calculate totals from cart
+        List<Long> cartItemIds = new ArrayList<>();
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Object[] line : cartLines) {
+            cartItemIds.add((Long) line[0]);
+            quantities.merge((Long) line[1], (Integer) line[2], Integer::sum);
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != quantities.size()) {
+            throw new AppException(ErrorCode.RESOURCE_NOT_FOUND);
+        }
+
+        // Validate stock and calculate totals in memory; the batched reservation below re-checks atomically
         BigDecimal subtotal = BigDecimal.ZERO;
-        for (CartItemResponse cartItem : cartItemsResponse) {
-            BigDecimal itemTotal = cartItem.getProduct().getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
-            subtotal = subtotal.add(itemTotal);
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            int quantity = line.getValue();
+            int available = (product.getQuantity() != null ? product.getQuantity() : 0)
+                    - (product.getReservedQuantity() != null ? product.getReservedQuantity() : 0);
+            if (quantity <= 0) {
+                throw new AppException(ErrorCode.INVALID_REQUEST);
+            }
+            if (available < quantity) {
+                throw new AppException(ErrorCode.INSUFFICIENT_STOCK);
+            }
+            subtotal = subtotal.add(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
         }
 
         BigDecimal discountAmount = request.getDiscountAmount() != null ? request.getDiscountAmount() : BigDecimal.ZERO;
@@ -156,48 +207,75 @@ public class OrderService {
                 .orderedAt(Instant.now())
                 .build();
 
-        order = repository.save(order);
-
-        // Create order items from cart items
-        for (CartItemResponse cartItemResponse : cartItemsResponse) {
-            Product product = productRepository.findById(cartItemResponse.getProductId())
-                    .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-            
-            // Check available quantity (quantity - reservedQuantity)
-            Integer currentQuantity = product.getQuantity() != null ? product.getQuantity() : 0;
-            Integer currentReservedQuantity = product.getReservedQuantity() != null ? product.getReservedQuantity() : 0;
-            Integer availableQuantity = currentQuantity - currentReservedQuantity;
-            
-            if (availableQuantity < cartItemResponse.getQuantity()) {
-                throw new AppException(ErrorCode.INSUFFICIENT_STOCK);
-            }
+        // Flush so the JDBC item batch can reference the order row
+        order = repository.saveAndFlush(order);
 
-            BigDecimal unitPrice = cartItemResponse.getProduct().getPrice();
-            BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(cartItemResponse.getQuantity()));
+        // Reserve stock (increase reservedQuantity, don't decrease quantity yet); any miss rolls back the checkout
+        if (!productRepository.reserveStockBatch(quantities).isEmpty()) {
+            throw new AppException(ErrorCode.INSUFFICIENT_STOCK);
+        }
 
-            OrderItem item = OrderItem.builder()
+        List<OrderItem> items = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            BigDecimal unitPrice = product.getPrice();
+            items.add(OrderItem.builder()
                     .order(order)
                     .product(product)
-                    .quantity(cartItemResponse.getQuantity())
+                    .quantity(line.getValue())
                     .unitPrice(unitPrice)
-                    .totalPrice(totalPrice)
-                    .build();
-            itemRepository.save(item);
-
-            // Reserve quantity (increase reservedQuantity, don't decrease quantity yet)
-            product.setReservedQuantity(currentReservedQuantity + cartItemResponse.getQuantity());
-            productRepository.save(product);
-
-            // Delete cart item
-            cartItemService.delete(cartItemResponse.getId().longValue());
+                    .totalPrice(unitPrice.multiply(BigDecimal.valueOf(line.getValue())))
+                    .build());
         }
+        itemRepository.insertAll(order.getId(), items);
+
+        cartItemRepository.deleteAllByIdInBatch(cartItemIds);
+        products.values().forEach(productCacheInvalidator::evict);
 
+        eventPublisher.publishEvent(OrderChangedEvent.created(order));
         return toResponse(order);
     }
 
-    public Page<OrderResponse> list(Pageable pageable, String search, String status, String paymentMethod) {
-        Specification<Order> specification = buildSpecification(search, status, paymentMethod);
-        return repository.findAll(specification, pageable).map(this::toResponse);
+    public Page<OrderResponse> list(Pageable pageable, String search, String status, String paymentMethod, boolean fuzzy) {
+        Specification<Order> specification = buildSpecification(search, status, paymentMethod, fuzzy).and(fetchUser());
+        Page<Order> orders = repository.findAll(specification, pageable);
+        Map<String, List<OrderItemResponse>> items = loadItems(orders.getContent());
+        return orders.map(order -> toResponse(order, items));
+    }
+
+    /**
+     * Keyset-paginated order listing, newest first, ordered by (orderedAt, id) without a COUNT query
+     */
+    public CursorPageResponse<OrderResponse> listByCursor(String cursor, Integer size, String search, String status,
+            String paymentMethod) {
+        Specification<Order> specification = buildSpecification(search, status, paymentMethod, false).and(fetchUser());
+        return findByCursor(specification, cursor, size);
+    }
+
+    /**
+     * Current user's orders, newest first, one cursor page at a time (served by idx_orders_user_ordered_at)
+     */
+    public CursorPageResponse<OrderResponse> getMyOrdersByCursor(String cursor, Integer size) {
+        User currentUser = getCurrentUser();
+        Specification<Order> specification = (root, query, cb) -> cb.equal(root.get("user"), currentUser);
+        return findByCursor(specification, cursor, size);
+    }
+
+    private CursorPageResponse<OrderResponse> findByCursor(Specification<Order> specification, String cursor, Integer size) {
+        int pageSize = CursorUtil.clampSize(size);
+        String[] keys = CursorUtil.decode(cursor, 2);
+        if (keys != null) {
+            Instant lastOrderedAt = CursorUtil.parseKey(keys[0], Instant::parse);
+            String lastId = keys[1];
+            specification = specification.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("orderedAt"), lastOrderedAt),
+                    cb.and(cb.equal(root.get("orderedAt"), lastOrderedAt), cb.lessThan(root.get("id"), lastId))));
+        }
+        Sort sort = Sort.by(Sort.Order.desc("orderedAt"), Sort.Order.desc("id"));
+        List<Order> rows = repository.findBy(specification, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        Map<String, List<OrderItemResponse>> items = loadItems(rows.size() > pageSize ? rows.subList(0, pageSize) : rows);
+        return CursorPageResponse.of(rows, pageSize,
+                order -> CursorUtil.encode(order.getOrderedAt(), order.getId()), order -> toResponse(order, items));
     }
 
     public OrderResponse get(String id) {
@@ -206,12 +284,41 @@ public class OrderService {
 
     public List<OrderResponse> getMyOrders() {
         User currentUser = getCurrentUser();
-        return repository.findByUserOrderByOrderedAtDesc(currentUser).stream()
-                .map(this::toResponse)
+        List<Order> orders = repository.findByUserOrderByOrderedAtDesc(currentUser);
+        Map<String, List<OrderItemResponse>> items = loadItems(orders);
+        return orders.stream()
+                .map(order -> toResponse(order, items))
                 .collect(Collectors.toList());
     }
 
     private OrderResponse toResponse(Order order) {
+        return toResponse(order, loadItems(List.of(order)));
+    }
+
+    /**
+     * Items of all given orders grouped by order id, fetched with their products in a single IN query
+     */
+    private Map<String, List<OrderItemResponse>> loadItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+        List<String> orderIds = orders.stream().map(Order::getId).toList();
+        return itemRepository.findWithProductByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId(),
+                        Collectors.mapping(this::toItemResponse, Collectors.toList())));
+    }
+
+    // Loads the customer with the orders instead of one select per order; skipped for the count query
+    private Specification<Order> fetchUser() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("user", JoinType.LEFT);
+            }
+            return cb.conjunction();
+        };
+    }
+
+    private OrderResponse toResponse(Order order, Map<String, List<OrderItemResponse>> items) {
         return OrderResponse.builder()
                 .id(order.getId())
                 .customerId(order.getUser() != null ? order.getUser().getId() : null)
@@ -234,9 +341,7 @@ public class OrderService {
                 .shippedAt(order.getShippedAt())
                 .deliveredAt(order.getDeliveredAt())
                 .cancelledAt(order.getCancelledAt())
-                .items(itemRepository.findByOrder(order).stream()
-                        .map(this::toItemResponse)
-                        .collect(Collectors.toList()))
+                .items(items.getOrDefault(order.getId(), List.of()))
                 .build();
     }
 
@@ -266,12 +371,17 @@ public class OrderService {
             itemRepository.flush(); // Flush để đảm bảo các delete được thực thi ngay
         }
         
+        // The coupon use goes with the order
+        repository.releaseCoupons(List.of(order.getId()));
+
         // Sau đó mới xóa order
         repository.delete(order);
+        eventPublisher.publishEvent(OrderChangedEvent.deleted(order));
     }
 
     public OrderResponse updateOrder(String id, OrderRequest request) {
         Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        OrderStatus previousStatus = order.getStatus();
         
         // Only allow updating shipping information and status
         // Prevent updating if order is already shipped, delivered, or cancelled
@@ -314,6 +424,7 @@ public class OrderService {
         }
         
         order = repository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.of(order, previousStatus));
         return toResponse(order);
     }
 
@@ -321,43 +432,29 @@ public class OrderService {
     
     public OrderResponse confirmOrder(String id) {
         Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.PROCESSING);
         order.setConfirmedAt(Instant.now());
         order = repository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.of(order, previousStatus));
         return toResponse(order);
     }
 
+    @Transactional
     public OrderResponse shipOrder(String id) {
-        Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        if (order.getStatus() != OrderStatus.PROCESSING) {
-            throw new AppException(ErrorCode.INVALID_KEY);
-        }
-        
-        order.setStatus(OrderStatus.SHIPPED);
-        order.setShippedAt(Instant.now());
-        order = repository.save(order);
+        OrderStatus previousStatus = transitionOne(id, Set.of(OrderStatus.PROCESSING), OrderStatus.SHIPPED);
 
         // Update inventory: release reserved quantity and actually reduce quantity
-        for (OrderItem item : itemRepository.findByOrder(order)) {
-            Product product = productRepository.findById(item.getProduct().getId())
-                    .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-            
-            // Release reserved quantity
-            Integer currentReservedQuantity = product.getReservedQuantity() != null ? product.getReservedQuantity() : 0;
-            product.setReservedQuantity(Math.max(0, currentReservedQuantity - item.getQuantity()));
-            
-            // Actually reduce quantity (ship the product)
-            Integer currentQuantity = product.getQuantity() != null ? product.getQuantity() : 0;
-            product.setQuantity(Math.max(0, currentQuantity - item.getQuantity()));
-            
-            productRepository.save(product);
-        }
-        
+        repository.commitReservations(List.of(id)).forEach(productCacheInvalidator::evict);
+
+        Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        eventPublisher.publishEvent(OrderChangedEvent.of(order, previousStatus));
         return toResponse(order);
     }
 
     public OrderResponse confirmDelivery(String id) {
         Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        OrderStatus previousStatus = order.getStatus();
         User currentUser = getCurrentUser();
         if (order.getUser() == null || !order.getUser().getId().equals(currentUser.getId())) {
             throw new AppException(ErrorCode.UNAUTHORIZED);
@@ -370,47 +467,164 @@ public class OrderService {
         order.setStatus(OrderStatus.DELIVERED);
         order.setDeliveredAt(Instant.now());
         order = repository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.of(order, previousStatus));
         return toResponse(order);
     }
 
+    @Transactional
     public OrderResponse cancelOrder(String id) {
-        Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        order.setStatus(OrderStatus.CANCELLED);
-        order.setPaymentStatus(PaymentStatus.CANCELLED);
-        order.setCancelledAt(Instant.now());
-        order = repository.save(order);
+        OrderStatus previousStatus = transitionOne(id, EnumSet.complementOf(EnumSet.of(OrderStatus.CANCELLED)),
+                OrderStatus.CANCELLED);
 
         // Release reserved inventory (only decrease reservedQuantity, don't change quantity)
-        for (OrderItem item : itemRepository.findByOrder(order)) {
-            Product product = productRepository.findById(item.getProduct().getId())
-                    .orElse(null);
-            if (product != null) {
-                Integer currentReservedQuantity = product.getReservedQuantity() != null ? product.getReservedQuantity() : 0;
-                product.setReservedQuantity(Math.max(0, currentReservedQuantity - item.getQuantity()));
-                productRepository.save(product);
-            }
+        // Stock is only held while the order is pending or processing; shipped stock was already committed
+        if (previousStatus == OrderStatus.PENDING || previousStatus == OrderStatus.PROCESSING) {
+            repository.releaseReservations(List.of(id)).forEach(productCacheInvalidator::evict);
         }
-        
+        repository.releaseCoupons(List.of(id));
+
+        Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        eventPublisher.publishEvent(OrderChangedEvent.of(order, previousStatus));
         return toResponse(order);
     }
 
+    /**
+     * Single-order form of the bulk transitions: the status check and change happen on the locked row,
+     * so racing a bulk action or the expiry sweep, only one of them commits or releases the stock
+     *
+     * @return the status the order had before
+     */
+    private OrderStatus transitionOne(String id, Set<OrderStatus> from, OrderStatus to) {
+        OrderStatus previousStatus = repository.transition(List.of(id), from, to).get(id);
+        if (previousStatus == null) {
+            throw new AppException(repository.existsById(id) ? ErrorCode.INVALID_KEY : ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        return previousStatus;
+    }
+
+    /**
+     * Confirm many orders at once (PENDING -> PROCESSING)
+     */
+    @Transactional
+    public BulkOrderActionResponse bulkConfirm(List<String> orderIds) {
+        List<String> ids = normalizeBulkIds(orderIds);
+        Map<String, OrderStatus> confirmed = repository.transition(ids, Set.of(OrderStatus.PENDING), OrderStatus.PROCESSING);
+        if (!confirmed.isEmpty()) {
+            eventPublisher.publishEvent(OrderChangedEvent.of(confirmed, OrderStatus.PROCESSING));
+        }
+        return bulkReport("confirm", ids, confirmed, OrderStatus.PROCESSING);
+    }
+
+    /**
+     * Ship many orders at once (PROCESSING -> SHIPPED), committing their reserved stock in one update
+     */
+    @Transactional
+    public BulkOrderActionResponse bulkShip(List<String> orderIds) {
+        List<String> ids = normalizeBulkIds(orderIds);
+        Map<String, OrderStatus> shipped = repository.transition(ids, Set.of(OrderStatus.PROCESSING), OrderStatus.SHIPPED);
+        repository.commitReservations(List.copyOf(shipped.keySet())).forEach(productCacheInvalidator::evict);
+        if (!shipped.isEmpty()) {
+            eventPublisher.publishEvent(OrderChangedEvent.of(shipped, OrderStatus.SHIPPED));
+        }
+        return bulkReport("ship", ids, shipped, OrderStatus.SHIPPED);
+    }
+
+    /**
+     * Cancel many orders at once; only orders still holding a reservation (PENDING, PROCESSING) qualify
+     */
+    @Transactional
+    public BulkOrderActionResponse bulkCancel(List<String> orderIds) {
+        List<String> ids = normalizeBulkIds(orderIds);
+        Map<String, OrderStatus> cancelled = repository.transition(ids,
+                Set.of(OrderStatus.PENDING, OrderStatus.PROCESSING), OrderStatus.CANCELLED);
+        repository.releaseReservations(List.copyOf(cancelled.keySet())).forEach(productCacheInvalidator::evict);
+        repository.releaseCoupons(List.copyOf(cancelled.keySet()));
+        if (!cancelled.isEmpty()) {
+            eventPublisher.publishEvent(OrderChangedEvent.of(cancelled, OrderStatus.CANCELLED));
+        }
+        return bulkReport("cancel", ids, cancelled, OrderStatus.CANCELLED);
+    }
+
+    private List<String> normalizeBulkIds(List<String> orderIds) {
+        if (orderIds == null) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+        List<String> ids = orderIds.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (ids.isEmpty() || ids.size() > MAX_BULK_ORDERS) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+        return ids;
+    }
+
+    // Per-order outcome in request order; skipped orders are looked up once to tell missing from wrong status
+    private BulkOrderActionResponse bulkReport(String action, List<String> ids, Map<String, OrderStatus> changed,
+            OrderStatus target) {
+        List<String> skippedIds = ids.stream().filter(id -> !changed.containsKey(id)).toList();
+        Map<String, OrderStatus> skippedStatuses = new LinkedHashMap<>();
+        if (!skippedIds.isEmpty()) {
+            for (Object[] row : repository.findStatusesByIdIn(skippedIds)) {
+                skippedStatuses.put((String) row[0], (OrderStatus) row[1]);
+            }
+        }
+
+        List<BulkOrderResultResponse> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            OrderStatus previous = changed.get(id);
+            if (previous != null) {
+                results.add(BulkOrderResultResponse.builder()
+                        .orderId(id)
+                        .success(true)
+                        .previousStatus(previous.name())
+                        .status(target.name())
+                        .build());
+                continue;
+            }
+            OrderStatus current = skippedStatuses.get(id);
+            results.add(BulkOrderResultResponse.builder()
+                    .orderId(id)
+                    .success(false)
+                    .previousStatus(current != null ? current.name() : null)
+                    .status(current != null ? current.name() : null)
+                    .error(current != null ? "INVALID_TRANSITION" : ErrorCode.ORDER_NOT_FOUND.getCode())
+                    .build());
+        }
+        return BulkOrderActionResponse.builder()
+                .action(action)
+                .requested(ids.size())
+                .succeeded(changed.size())
+                .failed(ids.size() - changed.size())
+                .results(results)
+                .build();
+    }
+
+    @Transactional
     public OrderResponse applyCoupon(String id, String code) {
         Order order = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
         Coupon coupon = couponRepository.findByCode(code).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-
-        // Validate coupon
-        Instant now = Instant.now();
-        if (coupon.getIsActive() != null && !coupon.getIsActive()) {
-            throw new AppException(ErrorCode.INVALID_KEY);
+        BigDecimal previousTotalAmount = order.getTotalAmount();
+
+        // Claim a use: the conditional increment checks active/date window/usage limit atomically
+        // (rolls back the ledger row on failure)
+        String userId = order.getUser() != null ? order.getUser().getId() : null;
+        if (couponRedemptionRepository.insertIfAbsent(coupon.getId(), order.getId(), userId) == 0) {
+            // The ledger row exists, so this coupon is already on the order: re-applying leaves it unchanged
+            return toResponse(order);
         }
-        if (coupon.getStartDate() != null && now.isBefore(coupon.getStartDate())) {
+        if (couponRepository.redeem(coupon.getId()) == 0) {
             throw new AppException(ErrorCode.INVALID_KEY);
         }
-        if (coupon.getEndDate() != null && now.isAfter(coupon.getEndDate())) {
-            throw new AppException(ErrorCode.INVALID_KEY);
-        }
-        if (coupon.getUsageLimit() != null && coupon.getUsedCount() != null && coupon.getUsedCount() >= coupon.getUsageLimit()) {
-            throw new AppException(ErrorCode.INVALID_KEY);
+
+        // Give back the use of the coupon this one replaces
+        if (order.getCouponCode() != null && !order.getCouponCode().equals(coupon.getCode())) {
+            couponRepository.findByCode(order.getCouponCode()).ifPresent(previous -> {
+                if (couponRedemptionRepository.deleteByCouponIdAndOrderId(previous.getId(), order.getId()) > 0) {
+                    couponRepository.unredeem(previous.getId());
+                }
+            });
         }
 
         // Determine eligible amount (subtotal)
@@ -437,19 +651,30 @@ public class OrderService {
         order.setTotalAmount(total);
 
         order = repository.save(order);
-
-        // Increase coupon usage count upon successful apply
-        Integer usedCount = coupon.getUsedCount() == null ? 0 : coupon.getUsedCount();
-        coupon.setUsedCount(usedCount + 1);
-        couponRepository.save(coupon);
-
+        eventPublisher.publishEvent(OrderChangedEvent.of(order, order.getStatus(), previousTotalAmount));
         return toResponse(order);
     }
 
-    private Specification<Order> buildSpecification(String search, String status, String paymentMethod) {
+    private Specification<Order> buildSpecification(String search, String status, String paymentMethod, boolean fuzzy) {
         Specification<Order> specification = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
 
-        if (StringUtils.hasText(search)) {
+        if (StringUtils.hasText(search) && fuzzy) {
+            // Typo-tolerant trigram match, best matches first (pageable sort still takes precedence)
+            String keyword = search.trim().toLowerCase();
+            specification = specification.and((root, query, cb) -> {
+                List<Expression<String>> fields = List.of(
+                        cb.lower(root.get("id")),
+                        cb.lower(root.get("shippingName")),
+                        cb.lower(root.get("shippingPhone")));
+                query.orderBy(cb.desc(cb.function("greatest", Double.class, fields.stream()
+                        .map(field -> cb.function("word_similarity", Double.class, cb.literal(keyword), field))
+                        .toArray(Expression[]::new))));
+                return cb.or(fields.stream()
+                        .map(field -> cb.isTrue(cb.function(
+                                PostgresFunctionContributor.TRGM_WORD_MATCH, Boolean.class, cb.literal(keyword), field)))
+                        .toArray(Predicate[]::new));
+            });
+        } else if (StringUtils.hasText(search)) {
             String keyword = "%" + search.trim().toLowerCase() + "%";
             specification = specification.and((root, query, cb) -> cb.or(
                     cb.like(cb.lower(root.get("id")), keyword),
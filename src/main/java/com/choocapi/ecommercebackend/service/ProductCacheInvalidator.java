@@ -0,0 +1,66 @@
+package com.choocapi.ecommercebackend.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.choocapi.ecommercebackend.entity.Product;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Evicts cached product details (see ProductService.get/getBySlug) when a product, its stock or its reviews change
+ * Inside a transaction the eviction runs after commit, so a concurrent read cannot re-cache the old row
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProductCacheInvalidator {
+    public static final String PRODUCTS_BY_ID = "productsById";
+    public static final String PRODUCTS_BY_SLUG = "productsBySlug";
+
+    CacheManager cacheManager;
+
+    public void evict(Product product) {
+        evict(product.getId(), product.getSlug());
+    }
+
+    public void evict(Long productId, String slug) {
+        afterCommit(() -> {
+            if (productId != null) {
+                cache(PRODUCTS_BY_ID).evict(productId);
+            }
+            if (slug != null) {
+                cache(PRODUCTS_BY_SLUG).evict(slug);
+            }
+        });
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            cache(PRODUCTS_BY_ID).clear();
+            cache(PRODUCTS_BY_SLUG).clear();
+        });
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.choocapi.ecommercebackend.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.PageRequest;
@@ -16,6 +19,7 @@ import com.choocapi.ecommercebackend.entity.Product;
 import com.choocapi.ecommercebackend.repository.BrandRepository;
 import com.choocapi.ecommercebackend.repository.CategoryRepository;
 import com.choocapi.ecommercebackend.repository.ProductRepository;
+import com.choocapi.ecommercebackend.utils.SearchTextUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -86,42 +90,23 @@ public class ProductContextProvider {
 
     /**
      * Search products by keyword
-     * Searches in product name, description, SKU, category name, and brand name
+     * Uses the full-text index over product name, SKU, category, brand and description,
+     * matching any folded term (diacritics ignored) and ranking by relevance
      * Returns only published products, limited to 30 results
      */
     public List<Product> getProductsByKeyword(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
+        String tsQuery = SearchTextUtil.toTsQuery(keyword, false);
+        if (tsQuery == null) {
             return getFeaturedProducts();
         }
 
-        String searchTerm = "%" + keyword.toLowerCase() + "%";
-        Pageable pageable = PageRequest.of(0, 30);
-        
-        Specification<Product> spec = (root, query, criteriaBuilder) -> {
-            Predicate namePredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("name")), searchTerm);
-            Predicate descriptionPredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("description")), searchTerm);
-            Predicate skuPredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("sku")), searchTerm);
-            
-            // Search in category name
-            Predicate categoryPredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("category").get("name")), searchTerm);
-            
-            // Search in brand name
-            Predicate brandPredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("brand").get("name")), searchTerm);
-            
-            Predicate isPublishedPredicate = criteriaBuilder.isTrue(root.get("isPublished"));
-            
-            Predicate searchPredicate = criteriaBuilder.or(
-                    namePredicate, descriptionPredicate, skuPredicate, 
-                    categoryPredicate, brandPredicate);
-            return criteriaBuilder.and(searchPredicate, isPublishedPredicate);
-        };
-        
-        return productRepository.findAll(spec, pageable).getContent();
+        List<Long> ids = productRepository.searchIds(tsQuery, null, null, true, PageRequest.of(0, 30)).getContent();
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -0,0 +1,80 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.choocapi.ecommercebackend.entity.ProductRatingSummary;
+import com.choocapi.ecommercebackend.entity.ProductReview;
+import com.choocapi.ecommercebackend.repository.ProductRatingSummaryRepository;
+import com.choocapi.ecommercebackend.repository.ProductReviewRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ProductRatingSummaryService {
+    ProductRatingSummaryRepository repository;
+    ProductReviewRepository productReviewRepository;
+    ProductCacheInvalidator productCacheInvalidator;
+
+    /**
+     * Count a review that just became visible (created or unhidden)
+     * Must run in the same transaction as the review write
+     */
+    @Transactional
+    public void addReview(ProductReview review) {
+        repository.addRating(review.getProduct().getId(), review.getRating());
+        productCacheInvalidator.evict(review.getProduct());
+    }
+
+    /**
+     * Remove a previously visible review (deleted or hidden)
+     */
+    @Transactional
+    public void removeReview(ProductReview review) {
+        repository.removeRating(review.getProduct().getId(), review.getRating());
+        productCacheInvalidator.evict(review.getProduct());
+    }
+
+    public Map<Long, ProductRatingSummary> findByProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductRatingSummary::getProductId, Function.identity()));
+    }
+
+    /**
+     * Recompute all summaries from product_reviews
+     */
+    @Transactional
+    public void rebuild() {
+        repository.deleteAllSummaries();
+        repository.insertSummariesFromReviews();
+        productCacheInvalidator.evictAll();
+    }
+
+    /**
+     * Backfill summaries for reviews written before the summary table existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (repository.count() == 0 && productReviewRepository.count() > 0) {
+            log.info("Product rating summaries are empty, rebuilding from reviews");
+            rebuild();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.choocapi.ecommercebackend.dto.request.ProductReviewRequest;
 import com.choocapi.ecommercebackend.dto.response.ProductReviewResponse;
@@ -29,6 +30,7 @@ public class ProductReviewService {
     ProductRepository productRepository;
     UserRepository userRepository;
     ProductReviewMapper mapper;
+    ProductRatingSummaryService ratingSummaryService;
 
     private User getCurrentUser() {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -36,6 +38,7 @@ public class ProductReviewService {
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXIST));
     }
 
+    @Transactional
     public ProductReviewResponse create(ProductReviewRequest request) {
         User user = getCurrentUser();
 
@@ -48,6 +51,7 @@ public class ProductReviewService {
         entity.setIsHidden(false);
 
         entity = repository.save(entity);
+        ratingSummaryService.addReview(entity);
         return mapper.toResponse(entity);
     }
 
@@ -69,6 +73,7 @@ public class ProductReviewService {
                 .toList();
     }
 
+    @Transactional
     public void delete(Long id) {
         ProductReview review = repository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
@@ -78,6 +83,32 @@ public class ProductReviewService {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        repository.deleteById(id);
+        // The row's own visibility decides, so a concurrent hide or delete is never subtracted twice
+        List<Boolean> deleted = repository.deleteReturningHidden(id);
+        if (!deleted.isEmpty() && !deleted.get(0)) {
+            ratingSummaryService.removeReview(review);
+        }
+    }
+
+    /**
+     * Hide or unhide a review (moderation)
+     * Keeps the product rating summary in step with the visible reviews
+     */
+    @Transactional
+    public ProductReviewResponse setHidden(Long id, boolean hidden) {
+        ProductReview review = repository.findById(id)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+
+        // Only the call that actually flipped the flag adjusts the summary
+        if (repository.updateHidden(id, hidden) > 0) {
+            if (hidden) {
+                ratingSummaryService.removeReview(review);
+            } else {
+                ratingSummaryService.addReview(review);
+            }
+        }
+        return repository.findById(id)
+                .map(mapper::toResponse)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
     }
 }
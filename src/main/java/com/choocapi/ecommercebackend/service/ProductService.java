@@ -2,30 +2,48 @@ package com.choocapi.ecommercebackend.service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
 import com.choocapi.ecommercebackend.dto.request.ProductRequest;
+import com.choocapi.ecommercebackend.dto.response.CursorPageResponse;
+import com.choocapi.ecommercebackend.dto.response.FacetBucketResponse;
+import com.choocapi.ecommercebackend.dto.response.PageResponse;
+import com.choocapi.ecommercebackend.dto.response.ProductCardResponse;
 import com.choocapi.ecommercebackend.dto.response.ProductResponse;
+import com.choocapi.ecommercebackend.dto.response.ProductSearchResponse;
 import com.choocapi.ecommercebackend.entity.Brand;
 import com.choocapi.ecommercebackend.entity.Category;
 import com.choocapi.ecommercebackend.entity.Product;
+import com.choocapi.ecommercebackend.entity.ProductRatingSummary;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.ProductMapper;
 import com.choocapi.ecommercebackend.repository.BrandRepository;
 import com.choocapi.ecommercebackend.repository.CategoryRepository;
 import com.choocapi.ecommercebackend.repository.ProductRepository;
-import com.choocapi.ecommercebackend.repository.ProductReviewRepository;
+import com.choocapi.ecommercebackend.utils.CursorUtil;
+import com.choocapi.ecommercebackend.utils.SearchTextUtil;
 
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -34,10 +52,21 @@ import lombok.experimental.FieldDefaults;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class ProductService {
+    // Virtual sort property, resolved against product_rating_summaries instead of a Product column
+    static final String RATING_SORT_PROPERTY = "averageRating";
+
+    // Price range facet boundaries (VND)
+    static final List<BigDecimal> PRICE_FACET_BOUNDS = Stream.of(1_000_000, 5_000_000, 10_000_000, 20_000_000, 40_000_000)
+            .map(BigDecimal::valueOf)
+            .toList();
+
     ProductRepository repository;
     CategoryRepository categoryRepository;
+    CategoryTreeService categoryTreeService;
     BrandRepository brandRepository;
-    ProductReviewRepository productReviewRepository;
+    ProductRatingSummaryService ratingSummaryService;
+    ProductCacheInvalidator productCacheInvalidator;
+    OptimisticRetryExecutor optimisticRetryExecutor;
     ProductMapper mapper;
 
     public ProductResponse create(ProductRequest request) {
@@ -52,55 +81,210 @@ public class ProductService {
         return mapWithReviewStats(entity);
     }
 
+    /**
+     * List products, optionally filtered by category/brand
+     * When a search text is given, results come from the full-text index in the requested sort,
+     * ranked by relevance when no sort is requested
+     */
     public Page<ProductResponse> list(Pageable pageable, String search, Long categoryId, Long brandId) {
-        Specification<Product> specification = buildSpecification(search, categoryId, brandId);
-        return repository.findAll(specification, pageable)
-                .map(this::mapWithReviewStats);
+        String tsQuery = SearchTextUtil.toTsQuery(search, true);
+        if (tsQuery != null) {
+            Page<Long> ids = repository.searchIds(tsQuery, categoryId, brandId, false, pageable);
+            return mapWithReviewStats(loadInOrder(ids));
+        }
+
+        Specification<Product> specification = buildSpecification(categoryId, brandId);
+        return findAllWithRatingSort(specification, pageable);
     }
 
+    /**
+     * Keyset-paginated product listing, newest id first, without a COUNT query
+     */
+    public CursorPageResponse<ProductResponse> listByCursor(String cursor, Integer size, Long categoryId, Long brandId) {
+        int pageSize = CursorUtil.clampSize(size);
+        Specification<Product> specification = buildSpecification(categoryId, brandId);
+        String[] keys = CursorUtil.decode(cursor, 1);
+        if (keys != null) {
+            Long lastId = CursorUtil.parseKey(keys[0], Long::valueOf);
+            specification = specification.and((root, query, cb) -> cb.lessThan(root.get("id"), lastId));
+        }
+        List<Product> rows = repository.findBy(specification,
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(pageSize + 1).all());
+        Map<Long, ProductRatingSummary> summaries = ratingSummaryService.findByProductIds(
+                rows.stream().map(Product::getId).toList());
+        return CursorPageResponse.of(rows, pageSize,
+                product -> CursorUtil.encode(product.getId()),
+                product -> toResponse(product, summaries.get(product.getId())));
+    }
+
+    private Page<Product> loadInOrder(Page<Long> ids) {
+        Map<Long, Product> products = repository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.map(products::get);
+    }
+
+    @Cacheable(cacheNames = ProductCacheInvalidator.PRODUCTS_BY_ID, key = "#id")
     public ProductResponse get(Long id) {
         Product product = repository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        return mapWithReviewStats(product);
+        return mapWithRatingDistribution(product);
     }
 
+    @Cacheable(cacheNames = ProductCacheInvalidator.PRODUCTS_BY_SLUG, key = "#slug")
     public ProductResponse getBySlug(String slug) {
         Product product = repository.findBySlug(slug)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        return mapWithReviewStats(product);
+        return mapWithRatingDistribution(product);
     }
 
     public Page<ProductResponse> getByCategorySlug(String categorySlug, Pageable pageable) {
-        Category category = categoryRepository.findBySlug(categorySlug)
+        Category category = categoryTreeService.findBySlug(categorySlug)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        
-        // Get all categories including the parent and all its descendants recursively
-        Set<Category> allCategories = new HashSet<>();
-        allCategories.add(category);
-        findAllDescendants(category, allCategories);
-        
-        return repository.findByCategories(new ArrayList<>(allCategories), pageable)
-                .map(this::mapWithReviewStats);
+
+        // The category and all its descendants, resolved from the in-memory tree
+        Set<Long> categoryIds = categoryTreeService.subtreeIds(category.getId());
+        Specification<Product> specification = (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+        return findAllWithRatingSort(specification, pageable);
     }
-    
-    private void findAllDescendants(Category category, Set<Category> result) {
-        List<Category> children = categoryRepository.findByParent(category);
-        for (Category child : children) {
-            result.add(child);
-            findAllDescendants(child, result); // Recursive call for nested children
+
+    /**
+     * Slim product cards for listing pages, same filters and sorting as {@link #list}
+     */
+    public Page<ProductCardResponse> listCards(Pageable pageable, String search, Long categoryId, Long brandId) {
+        String tsQuery = SearchTextUtil.toTsQuery(search, true);
+        if (tsQuery != null) {
+            Page<Long> ids = repository.searchIds(tsQuery, categoryId, brandId, false, pageable);
+            return withRatings(loadCardsInOrder(ids));
+        }
+
+        Specification<Product> specification = buildSpecification(categoryId, brandId);
+        return withRatings(findWithRatingSort(specification, pageable, repository::findCards));
+    }
+
+    /**
+     * Storefront search over published products: a page of cards plus brand, category,
+     * price range and availability facet counts (the facets come from a single grouped query)
+     *
+     * @param maxPrice exclusive upper price bound
+     */
+    public ProductSearchResponse search(Pageable pageable, String search, Long categoryId, Long brandId,
+            BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        String tsQuery = SearchTextUtil.toTsQuery(search, true);
+        Page<ProductCardResponse> results;
+        if (tsQuery != null) {
+            Page<Long> ids = repository.searchIds(tsQuery, categoryId, brandId, minPrice, maxPrice, inStock, true, pageable);
+            results = withRatings(loadCardsInOrder(ids));
+        } else {
+            Specification<Product> specification = buildSpecification(categoryId, brandId)
+                    .and(buildStorefrontSpecification(minPrice, maxPrice, inStock));
+            results = withRatings(findWithRatingSort(specification, pageable, repository::findCards));
+        }
+
+        ProductSearchResponse response = ProductSearchResponse.builder()
+                .results(PageResponse.from(results))
+                .brands(new ArrayList<>())
+                .categories(new ArrayList<>())
+                .priceRanges(new ArrayList<>())
+                .availability(new ArrayList<>())
+                .build();
+        List<Object[]> rows = repository.facetCounts(
+                tsQuery, categoryId, brandId, minPrice, maxPrice, inStock, true, PRICE_FACET_BOUNDS);
+        for (Object[] row : rows) {
+            String facet = (String) row[0];
+            String value = (String) row[1];
+            long count = ((Number) row[3]).longValue();
+            if (value == null || count == 0) {
+                continue;
+            }
+            FacetBucketResponse bucket = FacetBucketResponse.builder()
+                    .value(value)
+                    .label((String) row[2])
+                    .count(count)
+                    .build();
+            switch (facet) {
+                case "brand" -> response.getBrands().add(bucket);
+                case "category" -> response.getCategories().add(bucket);
+                case "price" -> {
+                    int index = Integer.parseInt(value);
+                    bucket.setMinPrice(index > 0 ? PRICE_FACET_BOUNDS.get(index - 1) : null);
+                    bucket.setMaxPrice(index < PRICE_FACET_BOUNDS.size() ? PRICE_FACET_BOUNDS.get(index) : null);
+                    response.getPriceRanges().add(bucket);
+                }
+                default -> response.getAvailability().add(bucket);
+            }
+        }
+        Comparator<FacetBucketResponse> byCount = Comparator.comparingLong(FacetBucketResponse::getCount).reversed();
+        response.getBrands().sort(byCount);
+        response.getCategories().sort(byCount);
+        response.getPriceRanges().sort(Comparator.comparingInt(bucket -> Integer.parseInt(bucket.getValue())));
+        return response;
+    }
+
+    public Page<ProductCardResponse> getCardsByCategorySlug(String categorySlug, Pageable pageable) {
+        Category category = categoryTreeService.findBySlug(categorySlug)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        Set<Long> categoryIds = categoryTreeService.subtreeIds(category.getId());
+        Specification<Product> specification = (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+        return withRatings(findWithRatingSort(specification, pageable, repository::findCards));
+    }
+
+    private Page<ProductCardResponse> loadCardsInOrder(Page<Long> ids) {
+        List<Long> pageIds = ids.getContent();
+        Map<Long, ProductCardResponse> cards = repository
+                .findCards((root, query, cb) -> root.get("id").in(pageIds), Pageable.unpaged()).stream()
+                .collect(Collectors.toMap(ProductCardResponse::getId, Function.identity()));
+        return ids.map(cards::get);
+    }
+
+    private Page<ProductResponse> findAllWithRatingSort(Specification<Product> specification, Pageable pageable) {
+        return mapWithReviewStats(findWithRatingSort(specification, pageable, repository::findAll));
+    }
+
+    // Rewrites a sort on the virtual averageRating property into a specification ordering
+    private <T> Page<T> findWithRatingSort(Specification<Product> specification, Pageable pageable,
+            BiFunction<Specification<Product>, Pageable, Page<T>> finder) {
+        Sort.Order ratingOrder = pageable.getSort().getOrderFor(RATING_SORT_PROPERTY);
+        if (ratingOrder != null) {
+            specification = specification.and(orderByRating(ratingOrder.getDirection()));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
         }
+        return finder.apply(specification, pageable);
     }
 
+    // Orders by the maintained average rating; Spring Data strips the ordering from the count query
+    private Specification<Product> orderByRating(Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Subquery<Double> averageRating = query.subquery(Double.class);
+            Root<ProductRatingSummary> summary = averageRating.from(ProductRatingSummary.class);
+            averageRating.select(summary.get("averageRating"))
+                    .where(cb.equal(summary.get("productId"), root.get("id")));
+            Expression<Double> rating = cb.coalesce(averageRating, 0d);
+            query.orderBy(
+                    direction.isAscending() ? cb.asc(rating) : cb.desc(rating),
+                    cb.desc(root.get("id")));
+            return cb.conjunction();
+        };
+    }
+    
     public ProductResponse update(Long id, ProductRequest request) {
-        Product entity = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        mapper.update(entity, request);
-        normalizePricing(entity);
-        attachRelations(entity, request);
-        return mapWithReviewStats(repository.save(entity));
+        return optimisticRetryExecutor.execute("product.update", () -> {
+            Product entity = repository.findById(id).orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+            String previousSlug = entity.getSlug();
+            mapper.update(entity, request);
+            normalizePricing(entity);
+            attachRelations(entity, request);
+            entity = repository.save(entity);
+            productCacheInvalidator.evict(id, previousSlug);
+            return mapWithReviewStats(entity);
+        });
     }
 
     public void delete(Long id) {
+        Product product = repository.findById(id).orElse(null);
         repository.deleteById(id);
+        if (product != null) {
+            productCacheInvalidator.evict(product);
+        }
     }
 
     private void attachRelations(Product entity, ProductRequest request) {
@@ -125,17 +309,9 @@ public class ProductService {
         }
     }
 
-    private Specification<Product> buildSpecification(String search, Long categoryId, Long brandId) {
+    private Specification<Product> buildSpecification(Long categoryId, Long brandId) {
         Specification<Product> specification = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
 
-        if (StringUtils.hasText(search)) {
-            String keyword = "%" + search.trim().toLowerCase() + "%";
-            specification = specification.and((root, query, cb) -> cb.or(
-                    cb.like(cb.lower(root.get("name")), keyword),
-                    cb.like(cb.lower(root.get("sku")), keyword)
-            ));
-        }
-
         if (categoryId != null) {
             specification = specification.and((root, query, cb) ->
                     cb.equal(root.join("category", JoinType.LEFT).get("id"), categoryId));
@@ -149,14 +325,72 @@ public class ProductService {
         return specification;
     }
 
+    private Specification<Product> buildStorefrontSpecification(BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        Specification<Product> specification = (root, query, cb) -> cb.isTrue(root.get("isPublished"));
+
+        if (minPrice != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+        }
+
+        if (maxPrice != null) {
+            specification = specification.and((root, query, cb) -> cb.lessThan(root.get("price"), maxPrice));
+        }
+
+        if (inStock != null) {
+            specification = specification.and((root, query, cb) -> {
+                Expression<Integer> available = cb.diff(
+                        cb.coalesce(root.<Integer>get("quantity"), 0),
+                        cb.coalesce(root.<Integer>get("reservedQuantity"), 0));
+                return inStock ? cb.gt(available, 0) : cb.le(available, 0);
+            });
+        }
+
+        return specification;
+    }
+
     private ProductResponse mapWithReviewStats(Product product) {
+        Map<Long, ProductRatingSummary> summaries = ratingSummaryService.findByProductIds(List.of(product.getId()));
+        return toResponse(product, summaries.get(product.getId()));
+    }
+
+    private ProductResponse mapWithRatingDistribution(Product product) {
+        Map<Long, ProductRatingSummary> summaries = ratingSummaryService.findByProductIds(List.of(product.getId()));
+        ProductRatingSummary summary = summaries.get(product.getId());
+        ProductResponse response = toResponse(product, summary);
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(5, summary != null ? summary.getFiveStarCount() : 0L);
+        distribution.put(4, summary != null ? summary.getFourStarCount() : 0L);
+        distribution.put(3, summary != null ? summary.getThreeStarCount() : 0L);
+        distribution.put(2, summary != null ? summary.getTwoStarCount() : 0L);
+        distribution.put(1, summary != null ? summary.getOneStarCount() : 0L);
+        response.setRatingDistribution(distribution);
+        return response;
+    }
+
+    private Page<ProductResponse> mapWithReviewStats(Page<Product> products) {
+        // One primary-key lookup on the rating summaries for the whole page
+        List<Long> productIds = products.getContent().stream().map(Product::getId).toList();
+        Map<Long, ProductRatingSummary> summaries = ratingSummaryService.findByProductIds(productIds);
+        return products.map(product -> toResponse(product, summaries.get(product.getId())));
+    }
+
+    private Page<ProductCardResponse> withRatings(Page<ProductCardResponse> cards) {
+        List<Long> productIds = cards.getContent().stream().map(ProductCardResponse::getId).toList();
+        Map<Long, ProductRatingSummary> summaries = ratingSummaryService.findByProductIds(productIds);
+        cards.forEach(card -> {
+            ProductRatingSummary summary = summaries.get(card.getId());
+            card.setAverageRating(summary != null ? Math.round(summary.getAverageRating() * 10.0) / 10.0 : 0d);
+            card.setReviewCount(summary != null ? summary.getReviewCount() : 0L);
+        });
+        return cards;
+    }
+
+    private ProductResponse toResponse(Product product, ProductRatingSummary summary) {
         ProductResponse response = mapper.toResponse(product);
-        Double averageRating = productReviewRepository.findAverageRatingByProduct(product);
-        Long reviewCount = productReviewRepository.countVisibleReviewsByProduct(product);
+        Double averageRating = summary != null ? summary.getAverageRating() : null;
+        Long reviewCount = summary != null ? summary.getReviewCount() : null;
         response.setAverageRating(averageRating != null ? Math.round(averageRating * 10.0) / 10.0 : 0d);
         response.setReviewCount(reviewCount != null ? reviewCount : 0L);
         return response;
     }
 }
-
-
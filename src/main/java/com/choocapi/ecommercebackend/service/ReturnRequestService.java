@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +25,7 @@ import com.choocapi.ecommercebackend.entity.ReturnRequest;
 import com.choocapi.ecommercebackend.entity.User;
 import com.choocapi.ecommercebackend.enums.OrderStatus;
 import com.choocapi.ecommercebackend.enums.ReturnStatus;
+import com.choocapi.ecommercebackend.event.OrderChangedEvent;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.ReturnRequestMapper;
@@ -51,6 +53,8 @@ public class ReturnRequestService {
     ProductRepository productRepository;
     UserRepository userRepository;
     ReturnRequestMapper mapper;
+    ProductCacheInvalidator productCacheInvalidator;
+    ApplicationEventPublisher eventPublisher;
 
     /**
      * Get current authenticated user
@@ -164,17 +168,16 @@ public class ReturnRequestService {
                 returnRequest.setCompletedAt(now);
                 // Update order status to RETURNED
                 Order order = returnRequest.getOrder();
+                OrderStatus previousStatus = order.getStatus();
                 order.setStatus(OrderStatus.RETURNED);
                 orderRepository.save(order);
+                eventPublisher.publishEvent(OrderChangedEvent.of(order, previousStatus));
                 
                 // Restore product quantities (return products to inventory)
                 for (OrderItem item : orderItemRepository.findByOrder(order)) {
-                    Product product = productRepository.findById(item.getProduct().getId())
-                            .orElse(null);
-                    if (product != null) {
-                        Integer currentQuantity = product.getQuantity() != null ? product.getQuantity() : 0;
-                        product.setQuantity(currentQuantity + item.getQuantity());
-                        productRepository.save(product);
+                    Product product = item.getProduct();
+                    if (productRepository.restock(product.getId(), item.getQuantity()) > 0) {
+                        productCacheInvalidator.evict(product);
                         log.info("Restored {} units of product {} to inventory", item.getQuantity(), product.getId());
                     }
                 }
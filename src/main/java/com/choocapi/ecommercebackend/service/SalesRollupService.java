@@ -0,0 +1,114 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.choocapi.ecommercebackend.event.OrderChangedEvent;
+import com.choocapi.ecommercebackend.event.SalesRollupRefreshedEvent;
+import com.choocapi.ecommercebackend.repository.DailySalesRollupRepository;
+import com.choocapi.ecommercebackend.repository.OrderRepository;
+import com.choocapi.ecommercebackend.utils.DateTimeUtil;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the daily sales rollups in step with orders
+ * Order writes only mark their day dirty, the scheduled refresh re-aggregates dirty days from orders,
+ * so every write path (JPA saves, bulk updates, the expiry sweep, payment callbacks) stays consistent
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SalesRollupService {
+    DailySalesRollupRepository repository;
+    OrderRepository orderRepository;
+    TransactionTemplate transactionTemplate;
+    ApplicationEventPublisher eventPublisher;
+
+    @NonFinal
+    @Value("${statistics.rollup.refresh-batch-size}")
+    int batchSize;
+
+    // After commit so writers on the same day never wait on each other's dirty-day row
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (!event.getOrderedAt().isEmpty()) {
+            repository.markDirtyDays(event.getOrderedAt().stream()
+                    .map(orderedAt -> LocalDate.ofInstant(orderedAt, DateTimeUtil.BUSINESS_ZONE))
+                    .toList());
+        } else {
+            repository.markDirtyOrders(event.getOrderIds());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.rollup.refresh-interval}")
+    public void refresh() {
+        List<LocalDate> refreshed = new ArrayList<>();
+        List<LocalDate> days;
+        do {
+            days = refreshBatch();
+            refreshed.addAll(days);
+        } while (days.size() == batchSize);
+
+        if (!refreshed.isEmpty()) {
+            eventPublisher.publishEvent(new SalesRollupRefreshedEvent(refreshed));
+        }
+    }
+
+    /**
+     * Recompute all rollups from orders
+     */
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.lockRollupRefresh();
+            repository.rebuildAll();
+        });
+        log.info("Rebuilt daily sales rollups");
+        eventPublisher.publishEvent(new SalesRollupRefreshedEvent(List.of()));
+    }
+
+    /**
+     * Backfill rollups for orders placed before the rollup tables existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (repository.count() == 0 && orderRepository.count() > 0) {
+            log.info("Daily sales rollups are empty, rebuilding from orders");
+            rebuild();
+        }
+    }
+
+    /**
+     * @return the refreshed days, empty if another node holds the refresh lock
+     */
+    private List<LocalDate> refreshBatch() {
+        List<LocalDate> refreshed = transactionTemplate.execute(status -> {
+            if (!repository.tryLockRollupRefresh()) {
+                return List.<LocalDate>of();
+            }
+            List<LocalDate> days = repository.claimDirtyDays(batchSize);
+            repository.refreshDays(days);
+            return days;
+        });
+        return refreshed != null ? refreshed : List.of();
+    }
+}
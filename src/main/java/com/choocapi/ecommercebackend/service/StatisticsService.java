@@ -2,15 +2,17 @@ package com.choocapi.ecommercebackend.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Instant;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -27,17 +29,22 @@ import com.choocapi.ecommercebackend.dto.response.statistics.StatisticsResponse;
 import com.choocapi.ecommercebackend.dto.response.statistics.StatisticsRevenuePointResponse;
 import com.choocapi.ecommercebackend.dto.response.statistics.StatisticsSummaryResponse;
 import com.choocapi.ecommercebackend.dto.response.statistics.TimePointResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.TimelinePointResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.TimelineResponse;
 import com.choocapi.ecommercebackend.entity.Order;
 import com.choocapi.ecommercebackend.enums.OrderStatus;
-import com.choocapi.ecommercebackend.enums.PaymentMethod;
 import com.choocapi.ecommercebackend.enums.StatisticsRange;
+import com.choocapi.ecommercebackend.enums.TimelineGranularity;
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.UserMapper;
+import com.choocapi.ecommercebackend.repository.DailyProductSalesRollupRepository;
+import com.choocapi.ecommercebackend.repository.DailySalesRollupRepository;
 import com.choocapi.ecommercebackend.repository.InventoryTransactionRepository;
-import com.choocapi.ecommercebackend.repository.OrderItemRepository;
 import com.choocapi.ecommercebackend.repository.OrderRepository;
 import com.choocapi.ecommercebackend.repository.ProductRepository;
-import com.choocapi.ecommercebackend.repository.ReturnRequestRepository;
-import com.choocapi.ecommercebackend.repository.UserRepository;
+import com.choocapi.ecommercebackend.repository.SalesKpiSummary;
+import com.choocapi.ecommercebackend.utils.DateTimeUtil;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -47,11 +54,13 @@ import lombok.experimental.FieldDefaults;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class StatisticsService {
+    // Bounds a timeline request, e.g. a year of days or about three weeks of hours
+    static final int MAX_TIMELINE_POINTS = 500;
+
     OrderRepository orderRepository;
-    OrderItemRepository orderItemRepository;
-    UserRepository userRepository;
+    DailySalesRollupRepository dailySalesRollupRepository;
+    DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
     ProductRepository productRepository;
-    ReturnRequestRepository returnRequestRepository;
     InventoryTransactionRepository inventoryTransactionRepository;
     UserMapper userMapper;
 
@@ -74,45 +83,32 @@ public class StatisticsService {
     }
 
     private StatisticsSummaryResponse getSummary() {
-        // Sử dụng repository methods để tính toán trực tiếp trong database
-        BigDecimal totalRevenue = orderRepository.getTotalRevenue();
-        Long totalOrders = orderRepository.getTotalOrdersCount();
+        // Tất cả KPI trong một câu truy vấn trên bảng tổng hợp theo ngày
+        SalesKpiSummary kpis = dailySalesRollupRepository.getKpiSummary();
+        BigDecimal totalRevenue = kpis.getTotalRevenue();
+        Long totalOrders = kpis.getTotalOrders();
         
         BigDecimal averageOrderValue = totalOrders > 0
                 ? totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
 
-        Long completedOrders = orderRepository.countByStatus(OrderStatus.DELIVERED);
-        Long cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED);
-        Long newCustomers = userRepository.count();
-
         return StatisticsSummaryResponse.builder()
                 .totalRevenue(totalRevenue)
                 .totalOrders(totalOrders)
                 .averageOrderValue(averageOrderValue)
-                .completedOrders(completedOrders)
-                .cancelledOrders(cancelledOrders)
-                .newCustomers(newCustomers)
+                .completedOrders(kpis.getCompletedOrders())
+                .cancelledOrders(kpis.getCancelledOrders())
+                .newCustomers(kpis.getCustomers())
                 .build();
     }
 
     private List<StatisticsRevenuePointResponse> getRevenuePoints(StatisticsRange range) {
-        Instant startDate = getStartDate(range);
-        List<Object[]> results = orderRepository.getRevenueByDate(startDate);
-        
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM");
-        
-        return results.stream()
-                .map(result -> {
-                    // Date is returned as String from PostgreSQL DATE()::text
-                    String dateStr = result[0].toString();
-                    LocalDate date = LocalDate.parse(dateStr);
-                    BigDecimal total = (BigDecimal) result[1];
-                    return StatisticsRevenuePointResponse.builder()
-                            .label(date.format(formatter))
-                            .total(total)
-                            .build();
-                })
+        return getTimelinePoints(getStartDate(range), LocalDate.now(DateTimeUtil.BUSINESS_ZONE), TimelineGranularity.DAY)
+                .stream()
+                .map(point -> StatisticsRevenuePointResponse.builder()
+                        .label(point.getLabel())
+                        .total(point.getRevenue())
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -157,13 +153,14 @@ public class StatisticsService {
 
     @Transactional(readOnly = true)
     public SalesStatisticsResponse getSalesStatistics(StatisticsRange range) {
-        // Cards: Tổng tất cả - sử dụng repository methods
-        BigDecimal totalSales = orderRepository.getTotalRevenue();
-        Long totalOrders = orderRepository.getTotalOrdersCount();
-        Long completedOrders = orderRepository.countByStatus(OrderStatus.DELIVERED);
-        Long pendingOrders = orderRepository.countByStatus(OrderStatus.PENDING);
-        Long cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED);
-        Long returnRequests = returnRequestRepository.count();
+        // Cards: Tổng tất cả - một câu truy vấn trên bảng tổng hợp theo ngày
+        SalesKpiSummary kpis = dailySalesRollupRepository.getKpiSummary();
+        BigDecimal totalSales = kpis.getTotalRevenue();
+        Long totalOrders = kpis.getTotalOrders();
+        Long completedOrders = kpis.getCompletedOrders();
+        Long pendingOrders = kpis.getPendingOrders();
+        Long cancelledOrders = kpis.getCancelledOrders();
+        Long returnRequests = kpis.getReturnRequests();
 
         BigDecimal returnRate = totalOrders > 0
                 ? BigDecimal.valueOf(returnRequests)
@@ -171,13 +168,11 @@ public class StatisticsService {
                         .multiply(BigDecimal.valueOf(100))
                 : BigDecimal.ZERO;
 
-        // Payment method breakdown: Tổng tất cả - sử dụng repository method
+        // Payment method breakdown: Tổng tất cả - đọc từ bảng tổng hợp theo ngày
         Map<String, BigDecimal> paymentMethodBreakdown = new HashMap<>();
-        List<Object[]> paymentResults = orderRepository.getRevenueByPaymentMethod();
+        List<Object[]> paymentResults = dailySalesRollupRepository.sumRevenueByPaymentMethod();
         for (Object[] result : paymentResults) {
-            PaymentMethod method = (PaymentMethod) result[0];
-            BigDecimal total = (BigDecimal) result[1];
-            paymentMethodBreakdown.put(method.name(), total);
+            paymentMethodBreakdown.put((String) result[0], (BigDecimal) result[1]);
         }
 
         // Orders timeline: Chỉ có khi có range
@@ -199,32 +194,71 @@ public class StatisticsService {
     }
 
     private List<TimePointResponse> getOrdersTimeline(StatisticsRange range) {
-        Instant startDate = getStartDate(range);
-        List<Object[]> results = orderRepository.getOrdersCountByDate(startDate);
-        
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM");
-        
-        return results.stream()
+        return getTimelinePoints(getStartDate(range), LocalDate.now(DateTimeUtil.BUSINESS_ZONE), TimelineGranularity.DAY)
+                .stream()
+                .map(point -> TimePointResponse.builder()
+                        .label(point.getLabel())
+                        .count(point.getOrders())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Revenue and order counts over [from, to] (inclusive, shop-local dates), one point per bucket including empty ones
+     * Week buckets start on Monday; the first and last bucket may cover only part of the range
+     */
+    @Transactional(readOnly = true)
+    public TimelineResponse getTimeline(LocalDate from, LocalDate to, String granularity) {
+        TimelineGranularity timelineGranularity = parseGranularity(granularity);
+        return TimelineResponse.builder()
+                .from(from)
+                .to(to)
+                .granularity(timelineGranularity.name())
+                .points(getTimelinePoints(from, to, timelineGranularity))
+                .build();
+    }
+
+    private List<TimelinePointResponse> getTimelinePoints(LocalDate from, LocalDate to, TimelineGranularity granularity) {
+        if (from == null || to == null || from.isAfter(to) || countBuckets(from, to, granularity) > MAX_TIMELINE_POINTS) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(granularity.getLabelPattern());
+        return dailySalesRollupRepository.sumByBucket(from, to, granularity).stream()
                 .map(result -> {
-                    // Date is returned as String from PostgreSQL DATE()::text
-                    String dateStr = result[0].toString();
-                    LocalDate date = LocalDate.parse(dateStr);
-                    Long count = ((Number) result[1]).longValue();
-                    return TimePointResponse.builder()
-                            .label(date.format(formatter))
-                            .count(count)
+                    LocalDateTime start = (LocalDateTime) result[0];
+                    return TimelinePointResponse.builder()
+                            .label(start.format(formatter))
+                            .start(start)
+                            .revenue((BigDecimal) result[1])
+                            .orders((Long) result[2])
                             .build();
                 })
                 .collect(Collectors.toList());
     }
 
+    private long countBuckets(LocalDate from, LocalDate to, TimelineGranularity granularity) {
+        return switch (granularity) {
+            case HOUR -> ChronoUnit.HOURS.between(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+            case DAY -> ChronoUnit.DAYS.between(from, to) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(from.with(DayOfWeek.MONDAY), to) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(from.withDayOfMonth(1), to) + 1;
+        };
+    }
+
+    private TimelineGranularity parseGranularity(String granularity) {
+        try {
+            return granularity == null ? TimelineGranularity.DAY : TimelineGranularity.valueOf(granularity.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
     @Transactional(readOnly = true)
     public ProductsSalesStatisticsResponse getProductsSalesStatistics() {
-        // Top products: Tổng tất cả - sử dụng repository method
-        List<Object[]> topProductsResults = orderItemRepository.getTopProductsByRevenue();
+        // Top products: Tổng tất cả - đọc từ bảng tổng hợp theo ngày
+        List<Object[]> topProductsResults = dailyProductSalesRollupRepository.sumTopProductsByRevenue(Limit.of(5));
         
         List<ProductSalesResponse> topProducts = topProductsResults.stream()
-                .limit(5)
                 .map(result -> ProductSalesResponse.builder()
                         .productId(((Number) result[0]).longValue())
                         .productName((String) result[1])
@@ -233,8 +267,8 @@ public class StatisticsService {
                         .build())
                 .collect(Collectors.toList());
 
-        // Category performance: Tổng tất cả - sử dụng repository method
-        List<Object[]> categoryResults = orderItemRepository.getCategoryPerformance();
+        // Category performance: Tổng tất cả - đọc từ bảng tổng hợp theo ngày
+        List<Object[]> categoryResults = dailyProductSalesRollupRepository.sumRevenueByCategory();
         
         List<CategorySalesResponse> categoryPerformance = categoryResults.stream()
                 .map(result -> CategorySalesResponse.builder()
@@ -285,8 +319,8 @@ public class StatisticsService {
                 .build();
     }
 
-    private Instant getStartDate(StatisticsRange range) {
-        LocalDate now = LocalDate.now();
+    private LocalDate getStartDate(StatisticsRange range) {
+        LocalDate now = LocalDate.now(DateTimeUtil.BUSINESS_ZONE);
         LocalDate startDate;
         
         switch (range) {
@@ -303,7 +337,7 @@ public class StatisticsService {
                 startDate = now.minusDays(30);
         }
         
-        return startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        return startDate;
     }
 
 }
@@ -0,0 +1,185 @@
+package com.choocapi.ecommercebackend.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.choocapi.ecommercebackend.dto.response.statistics.InventoryStatisticsResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.ProductsSalesStatisticsResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.SalesStatisticsResponse;
+import com.choocapi.ecommercebackend.dto.response.statistics.StatisticsResponse;
+import com.choocapi.ecommercebackend.enums.StatisticsRange;
+import com.choocapi.ecommercebackend.event.InventoryChangedEvent;
+import com.choocapi.ecommercebackend.event.OrderChangedEvent;
+import com.choocapi.ecommercebackend.event.SalesRollupRefreshedEvent;
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stale-while-revalidate snapshots of the dashboard statistics, one per endpoint and range
+ * Reads are served from memory; a snapshot past its TTL or invalidated by an event is recomputed in the background
+ * and only a snapshot older than max-staleness makes the reader wait
+ * All recomputation runs on a single thread, so the number of admins polling never multiplies database load
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StatisticsSnapshotService {
+    static final String SALES = "sales";
+    static final String INVENTORY = "inventory";
+
+    StatisticsService statisticsService;
+    Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    ExecutorService refresher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("statistics-snapshot-refresh").daemon().factory());
+
+    @NonFinal
+    @Value("${statistics.snapshot.ttl}")
+    Duration ttl;
+
+    @NonFinal
+    @Value("${statistics.snapshot.max-staleness}")
+    Duration maxStaleness;
+
+    public StatisticsResponse getStatistics(StatisticsRange range) {
+        return get("overview:" + range, SALES, () -> statisticsService.getStatistics(range));
+    }
+
+    public SalesStatisticsResponse getSalesStatistics(StatisticsRange range) {
+        return get("sales:" + range, SALES, () -> statisticsService.getSalesStatistics(range));
+    }
+
+    public ProductsSalesStatisticsResponse getProductsSalesStatistics() {
+        return get("products", SALES, statisticsService::getProductsSalesStatistics);
+    }
+
+    public InventoryStatisticsResponse getInventoryStatistics() {
+        return get("inventory", INVENTORY, statisticsService::getInventoryStatistics);
+    }
+
+    // Sales figures come from the rollups, so they change when the rollups do rather than on each order
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesRollupRefreshed(SalesRollupRefreshedEvent event) {
+        invalidate(SALES);
+    }
+
+    // Stock is reserved, committed and released by order changes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        invalidate(INVENTORY);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        invalidate(INVENTORY);
+    }
+
+    /**
+     * Recompute expired or invalidated snapshots and drop the ones no dashboard has read lately
+     * Events only flag snapshots, so a burst of order changes costs one recomputation per tick
+     */
+    @Scheduled(fixedDelayString = "${statistics.snapshot.refresh-interval}")
+    public void refreshStale() {
+        long now = System.nanoTime();
+        snapshots.entrySet().removeIf(entry -> now - entry.getValue().readAt > maxStaleness.toNanos());
+        snapshots.values().stream()
+                .filter(snapshot -> snapshot.invalidated || now - snapshot.computedAt > ttl.toNanos())
+                .forEach(snapshot -> snapshot.refresh(refresher));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, String group, Supplier<T> loader) {
+        Snapshot snapshot = snapshots.computeIfAbsent(key, k -> new Snapshot(group, loader));
+        long now = System.nanoTime();
+        snapshot.readAt = now;
+        Object value = snapshot.value;
+        if (value == null || now - snapshot.computedAt > maxStaleness.toNanos()) {
+            return (T) await(snapshot.refresh(refresher));
+        }
+        if (snapshot.invalidated || now - snapshot.computedAt > ttl.toNanos()) {
+            snapshot.refresh(refresher);
+        }
+        return (T) value;
+    }
+
+    private void invalidate(String group) {
+        snapshots.values().stream()
+                .filter(snapshot -> snapshot.group.equals(group))
+                .forEach(snapshot -> snapshot.invalidated = true);
+    }
+
+    private Object await(CompletableFuture<Object> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
+        }
+    }
+
+    private static final class Snapshot {
+        final String group;
+        final Supplier<?> loader;
+        volatile Object value;
+        volatile long computedAt;
+        volatile long readAt;
+        volatile boolean invalidated;
+        CompletableFuture<Object> refreshing;
+
+        Snapshot(String group, Supplier<?> loader) {
+            this.group = group;
+            this.loader = loader;
+        }
+
+        // Single flight: concurrent callers share the running recomputation
+        synchronized CompletableFuture<Object> refresh(ExecutorService executor) {
+            if (refreshing != null) {
+                return refreshing;
+            }
+            // Cleared before loading, so an event arriving meanwhile schedules another run
+            invalidated = false;
+            CompletableFuture<Object> future = CompletableFuture.supplyAsync(loader::get, executor);
+            refreshing = future;
+            future.whenComplete((result, ex) -> complete(future, result, ex));
+            return future;
+        }
+
+        private synchronized void complete(CompletableFuture<Object> future, Object result, Throwable ex) {
+            if (ex == null) {
+                value = result;
+                computedAt = System.nanoTime();
+            } else {
+                invalidated = true;
+                log.warn("Statistics snapshot refresh failed", ex);
+            }
+            if (refreshing == future) {
+                refreshing = null;
+            }
+        }
+    }
+}
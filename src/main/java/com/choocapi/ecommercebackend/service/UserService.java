@@ -1,6 +1,7 @@
 package com.choocapi.ecommercebackend.service;
 
 import java.util.HashSet;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,8 +9,10 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.choocapi.ecommercebackend.configuration.PostgresFunctionContributor;
 import com.choocapi.ecommercebackend.dto.request.ChangePasswordRequest;
 import com.choocapi.ecommercebackend.dto.request.UserCreationRequest;
 import com.choocapi.ecommercebackend.dto.request.UserUpdateRequest;
@@ -19,10 +22,15 @@ import com.choocapi.ecommercebackend.entity.User;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
 import com.choocapi.ecommercebackend.mapper.UserMapper;
+import com.choocapi.ecommercebackend.repository.CouponRedemptionRepository;
 import com.choocapi.ecommercebackend.repository.RoleRepository;
 import com.choocapi.ecommercebackend.repository.UserRepository;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -33,6 +41,7 @@ import lombok.experimental.FieldDefaults;
 public class UserService {
     UserRepository repository;
     RoleRepository roleRepository;
+    CouponRedemptionRepository couponRedemptionRepository;
     UserMapper mapper;
     PasswordEncoder passwordEncoder;
 
@@ -66,8 +75,8 @@ public class UserService {
         return mapper.toResponse(user);
     }
 
-    public Page<UserResponse> list(Pageable pageable, String search, String role, String excludeRole, Boolean status, Boolean verified) {
-        Specification<User> specification = buildSpecification(search, role, excludeRole, status, verified);
+    public Page<UserResponse> list(Pageable pageable, String search, String role, String excludeRole, Boolean status, Boolean verified, boolean fuzzy) {
+        Specification<User> specification = buildSpecification(search, role, excludeRole, status, verified, fuzzy);
         return repository.findAll(specification, pageable).map(mapper::toResponse);
     }
 
@@ -117,7 +126,9 @@ public class UserService {
         return mapper.toResponse(user);
     }
 
+    @Transactional
     public void delete(String userId) {
+        couponRedemptionRepository.detachUser(userId);
         repository.deleteById(userId);
     }
 
@@ -142,10 +153,17 @@ public class UserService {
         return mapper.toResponse(user);
     }
 
-    private Specification<User> buildSpecification(String search, String role, String excludeRole, Boolean status, Boolean verified) {
+    private Specification<User> buildSpecification(String search, String role, String excludeRole, Boolean status, Boolean verified, boolean fuzzy) {
         Specification<User> specification = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
 
-        if (StringUtils.hasText(search)) {
+        if (StringUtils.hasText(search) && fuzzy) {
+            // Typo-tolerant trigram match over the trigram-indexed columns
+            String keyword = search.trim().toLowerCase();
+            specification = specification.and((root, query, cb) -> cb.or(userSearchFields(root, cb).stream()
+                    .map(field -> cb.isTrue(cb.function(
+                            PostgresFunctionContributor.TRGM_WORD_MATCH, Boolean.class, cb.literal(keyword), field)))
+                    .toArray(Predicate[]::new)));
+        } else if (StringUtils.hasText(search)) {
             String keyword = "%" + search.trim().toLowerCase() + "%";
             specification = specification.and((root, query, cb) -> cb.or(
                     cb.like(cb.lower(root.get("email")), keyword),
@@ -181,6 +199,27 @@ public class UserService {
             specification = specification.and((root, query, cb) -> cb.equal(root.get("emailVerified"), verified));
         }
 
+        if (StringUtils.hasText(search) && fuzzy) {
+            // Rank by similarity last: role filters switch to SELECT DISTINCT, which cannot order by an expression
+            String keyword = search.trim().toLowerCase();
+            specification = specification.and((root, query, cb) -> {
+                if (!query.isDistinct()) {
+                    query.orderBy(cb.desc(cb.function("greatest", Double.class, userSearchFields(root, cb).stream()
+                            .map(field -> cb.function("word_similarity", Double.class, cb.literal(keyword), field))
+                            .toArray(Expression[]::new))));
+                }
+                return cb.conjunction();
+            });
+        }
+
         return specification;
     }
+
+    private List<Expression<String>> userSearchFields(Root<User> root, CriteriaBuilder cb) {
+        return List.of(
+                cb.lower(root.get("email")),
+                cb.lower(root.get("firstName")),
+                cb.lower(root.get("lastName")),
+                cb.lower(root.get("phoneNumber")));
+    }
 }
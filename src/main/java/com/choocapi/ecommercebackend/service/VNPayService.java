@@ -19,7 +19,6 @@ import com.choocapi.ecommercebackend.configuration.VNPayConfig;
 import com.choocapi.ecommercebackend.dto.request.VNPayPaymentRequest;
 import com.choocapi.ecommercebackend.dto.response.VNPayPaymentResponse;
 import com.choocapi.ecommercebackend.entity.Order;
-import com.choocapi.ecommercebackend.enums.OrderStatus;
 import com.choocapi.ecommercebackend.enums.PaymentStatus;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
@@ -40,6 +39,7 @@ public class VNPayService {
     
     VNPayConfig vnPayConfig;
     OrderRepository orderRepository;
+    OrderPaymentService orderPaymentService;
 
     public VNPayPaymentResponse createPaymentUrl(VNPayPaymentRequest request, HttpServletRequest httpRequest) {
         try {
@@ -169,17 +169,17 @@ public class VNPayService {
                 
                 if ("00".equals(vnpResponseCode) && "00".equals(vnpTransactionStatus)) {
                     // Payment successful
-                    order.setPaymentStatus(PaymentStatus.PAID);
-                    order.setStatus(OrderStatus.PROCESSING);
-                    orderRepository.save(order);
-                    
-                    result.put("status", "success");
-                    result.put("message", "Payment successful");
+                    if (orderPaymentService.markPaid(order)) {
+                        result.put("status", "success");
+                        result.put("message", "Payment successful");
+                    } else {
+                        result.put("status", "failed");
+                        result.put("message", "Order was cancelled, payment will be refunded");
+                    }
                     result.put("orderId", order.getId());
                 } else {
                     // Payment failed
-                    order.setPaymentStatus(PaymentStatus.FAILED);
-                    orderRepository.save(order);
+                    orderPaymentService.updatePendingPaymentStatus(order, PaymentStatus.FAILED);
                     
                     result.put("status", "failed");
                     result.put("message", "Payment failed");
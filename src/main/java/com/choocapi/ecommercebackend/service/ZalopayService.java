@@ -25,7 +25,6 @@ import org.springframework.transaction.annotation.Transactional;
 import com.choocapi.ecommercebackend.configuration.ZalopayConfig;
 import com.choocapi.ecommercebackend.dto.response.PaymentResponse;
 import com.choocapi.ecommercebackend.entity.Order;
-import com.choocapi.ecommercebackend.enums.OrderStatus;
 import com.choocapi.ecommercebackend.enums.PaymentStatus;
 import com.choocapi.ecommercebackend.exception.AppException;
 import com.choocapi.ecommercebackend.exception.ErrorCode;
@@ -45,6 +44,7 @@ public class ZalopayService {
 
 	ZalopayConfig zalopayConfig;
 	OrderRepository orderRepository;
+	OrderPaymentService orderPaymentService;
 
 	private static String getCurrentTimeString(String format) {
 		Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("GMT+7"));
@@ -200,29 +200,23 @@ public class ZalopayService {
 			// Handle status
 			switch (status) {
 			case "1":
-				if (order.getPaymentStatus() != PaymentStatus.PAID) {
-					order.setPaymentStatus(PaymentStatus.PAID);
-					order.setStatus(OrderStatus.PROCESSING);
-					orderRepository.save(order);
+				if (orderPaymentService.markPaid(order)) {
+					result.put("status", "success");
+					result.put("message", "Payment successful");
+				} else {
+					result.put("status", "failed");
+					result.put("message", "Order was cancelled, payment will be refunded");
 				}
-				result.put("status", "success");
-				result.put("message", "Payment successful");
 				result.put("orderId", order.getId());
 				break;
 			case "-1":
-				if (order.getPaymentStatus() != PaymentStatus.PAID) {
-					order.setPaymentStatus(PaymentStatus.PENDING);
-					orderRepository.save(order);
-				}
+				orderPaymentService.updatePendingPaymentStatus(order, PaymentStatus.PENDING);
 				result.put("status", "processing");
 				result.put("message", "Payment is processing");
 				result.put("orderId", order.getId());
 				break;
 			default:
-				if (order.getPaymentStatus() != PaymentStatus.PAID) {
-					order.setPaymentStatus(PaymentStatus.FAILED);
-					orderRepository.save(order);
-				}
+				orderPaymentService.updatePendingPaymentStatus(order, PaymentStatus.FAILED);
 				result.put("status", "failed");
 				result.put("message", "Payment failed with status: " + status);
 				result.put("orderId", order.getId());
@@ -0,0 +1,10 @@
+package com.choocapi.ecommercebackend.utils;
+
+import java.time.ZoneId;
+
+public class DateTimeUtil {
+
+    // Shop-local time zone: day boundaries for reports, rollups and exports (matches spring.jackson.time-zone)
+    public static final String BUSINESS_ZONE_ID = "Asia/Ho_Chi_Minh";
+    public static final ZoneId BUSINESS_ZONE = ZoneId.of(BUSINESS_ZONE_ID);
+}
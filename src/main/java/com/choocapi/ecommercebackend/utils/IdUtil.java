@@ -0,0 +1,42 @@
+package com.choocapi.ecommercebackend.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+public class IdUtil {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int SEQUENCE_MASK = 0xFFF;
+
+    private static long lastMillis;
+    private static int sequence;
+
+    /**
+     * Time-ordered UUID (RFC 9562 version 7): 48-bit Unix millis, a 12-bit per-millisecond sequence
+     * and 62 random bits, so ids generated later sort after earlier ones (also as text)
+     * and new rows land at the right edge of the primary key index instead of random pages
+     */
+    public static String timeOrderedUuid() {
+        long millis;
+        int seq;
+        synchronized (IdUtil.class) {
+            millis = System.currentTimeMillis();
+            if (millis > lastMillis) {
+                // Random start leaves room to count up within the millisecond
+                sequence = RANDOM.nextInt(SEQUENCE_MASK / 2);
+                lastMillis = millis;
+            } else if (sequence < SEQUENCE_MASK) {
+                sequence++;
+                millis = lastMillis;
+            } else {
+                // Sequence exhausted (or clock moved back): borrow the next millisecond
+                sequence = 0;
+                millis = ++lastMillis;
+            }
+            seq = sequence;
+        }
+        long mostSigBits = (millis << 16) | 0x7000L | seq;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.choocapi.ecommercebackend.utils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class SearchTextUtil {
+
+    private static final Pattern HTML_TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final int MAX_QUERY_TERMS = 12;
+
+    /**
+     * Fold text for full-text indexing and querying
+     * Strips HTML tags and Vietnamese diacritics ("Máy tính Đà Nẵng" -> "may tinh da nang")
+     * and keeps only lowercase ASCII letters and digits separated by single spaces
+     */
+    public static String fold(String... parts) {
+        String joined = Arrays.stream(parts)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+        String text = HTML_TAGS.matcher(joined).replaceAll(" ")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        text = Normalizer.normalize(text, Normalizer.Form.NFD);
+        text = COMBINING_MARKS.matcher(text).replaceAll("");
+        text = NON_ALPHANUMERIC.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return text.trim();
+    }
+
+    /**
+     * Build a prefix-matching tsquery from free text, e.g. "máy tính" -> "may:* & tinh:*"
+     * Terms are folded to [a-z0-9] so the result is always a valid tsquery
+     *
+     * @param matchAll true to require every term (&), false to match any term (|)
+     * @return the tsquery, or null if the text has no searchable terms
+     */
+    public static String toTsQuery(String text, boolean matchAll) {
+        if (text == null) {
+            return null;
+        }
+        String folded = fold(text);
+        if (folded.isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(folded.split(" "))
+                .distinct()
+                .limit(MAX_QUERY_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(matchAll ? " & " : " | "));
+    }
+}
@@ -0,0 +1,44 @@
+package com.choocapi.ecommercebackend.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class TrigramSearchIndexTests {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void orderSearchUsesTrigramIndexes() {
+        String plan = explain("SELECT id FROM orders WHERE lower(shipping_name) LIKE '%nguyen%'");
+        assertThat(plan).contains("idx_orders_shipping_name_trgm");
+
+        plan = explain("SELECT id FROM orders WHERE 'nguyen' <% lower(shipping_name)");
+        assertThat(plan).contains("idx_orders_shipping_name_trgm");
+    }
+
+    @Test
+    void userSearchUsesTrigramIndexes() {
+        String plan = explain("SELECT id FROM users WHERE lower(email) LIKE '%gmail%'");
+        assertThat(plan).contains("idx_users_email_trgm");
+
+        plan = explain("SELECT id FROM users WHERE 'nguyen' <% lower(last_name)");
+        assertThat(plan).contains("idx_users_last_name_trgm");
+    }
+
+    private String explain(String sql) {
+        // Small test tables would otherwise always be scanned sequentially
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
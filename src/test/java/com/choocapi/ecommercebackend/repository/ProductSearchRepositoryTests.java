@@ -0,0 +1,68 @@
+package com.choocapi.ecommercebackend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.choocapi.ecommercebackend.entity.Product;
+import com.choocapi.ecommercebackend.utils.SearchTextUtil;
+
+@SpringBootTest
+@Transactional
+class ProductSearchRepositoryTests {
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Test
+    void matchesWithoutDiacriticsAndRanksTitleMatchesFirst() {
+        Product titleMatch = save("Máy tính xách tay", "KX7Q-1", null, "900");
+        Product bodyMatch = save("Phụ kiện", "KX7Q-2", "Dùng cho máy tính", "100");
+
+        List<Long> ids = search("kx7q may tinh", PageRequest.of(0, 10));
+
+        assertThat(ids).containsExactly(titleMatch.getId(), bodyMatch.getId());
+    }
+
+    @Test
+    void requestedSortWinsOverRelevance() {
+        Product titleMatch = save("Máy tính xách tay", "KX7Q-1", null, "900");
+        Product bodyMatch = save("Phụ kiện", "KX7Q-2", "Dùng cho máy tính", "100");
+
+        List<Long> ids = search("kx7q máy tính", PageRequest.of(0, 10, Sort.by("price")));
+
+        assertThat(ids).containsExactly(bodyMatch.getId(), titleMatch.getId());
+    }
+
+    @Test
+    void foldsDStroke() {
+        Product lamp = save("Đèn bàn", "KX7Q-3", null, "50");
+
+        assertThat(search("kx7q den", PageRequest.of(0, 10))).containsExactly(lamp.getId());
+    }
+
+    private List<Long> search(String text, PageRequest pageable) {
+        return productRepository.searchIds(SearchTextUtil.toTsQuery(text, true), null, null, false, pageable)
+                .getContent();
+    }
+
+    private Product save(String name, String sku, String description, String price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setSku(sku);
+        product.setSlug(sku.toLowerCase());
+        product.setDescription(description);
+        product.setPrice(new BigDecimal(price));
+        product.setQuantity(10);
+        product.setReservedQuantity(0);
+        return productRepository.saveAndFlush(product);
+    }
+}
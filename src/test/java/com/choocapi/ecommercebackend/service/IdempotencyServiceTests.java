@@ -0,0 +1,161 @@
+package com.choocapi.ecommercebackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.choocapi.ecommercebackend.entity.IdempotencyRecord;
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
+import com.choocapi.ecommercebackend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class IdempotencyServiceTests {
+    static final String SCOPE = "test.create";
+    static final String KEY = "key-1";
+    static final Map<String, Object> REQUEST = Map.of("orderId", "ORD-1", "amount", 100);
+
+    IdempotencyRecordRepository repository;
+    ObjectMapper objectMapper = new ObjectMapper();
+    IdempotencyService service;
+    AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        service = new IdempotencyService(repository, objectMapper);
+        ReflectionTestUtils.setField(service, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(service, "waitTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(service, "lease", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void replaysStoredResponse() throws Exception {
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), anyString(), any())).thenReturn(0);
+        when(repository.findByScopeAndUserIdAndIdempotencyKey(SCOPE, "anonymous", KEY))
+                .thenReturn(Optional.of(record(hash(REQUEST), "\"stored\"", Instant.now().plus(Duration.ofHours(1)))));
+
+        assertThat(execute()).isEqualTo("stored");
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentBody() {
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), anyString(), any())).thenReturn(0);
+        when(repository.findByScopeAndUserIdAndIdempotencyKey(SCOPE, "anonymous", KEY))
+                .thenReturn(Optional.of(record("another-request", null, Instant.now().plus(Duration.ofSeconds(30)))));
+
+        assertThatThrownBy(this::execute)
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void releasesKeyWhenRequestFails() {
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), anyString(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> service.execute(SCOPE, KEY, REQUEST, String.class, () -> {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        })).isInstanceOf(AppException.class);
+
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        verify(repository).claim(eq(SCOPE), eq("anonymous"), eq(KEY), anyString(), claimToken.capture(), any());
+        verify(repository).release(eq(SCOPE), eq("anonymous"), eq(KEY), anyString(), eq(claimToken.getValue()));
+        verify(repository, never()).complete(anyString(), anyString(), anyString(), anyString(), anyString(), anyString(),
+                any());
+    }
+
+    @Test
+    void claimsWithLeaseAndCompletesAsTheClaimHolder() throws Exception {
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), anyString(), any())).thenReturn(1);
+
+        assertThat(execute()).isEqualTo("created");
+
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Instant> lease = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).claim(eq(SCOPE), eq("anonymous"), eq(KEY), eq(hash(REQUEST)), claimToken.capture(),
+                lease.capture());
+        assertThat(lease.getValue()).isCloseTo(Instant.now().plus(Duration.ofMinutes(5)), within(1, ChronoUnit.SECONDS));
+        ArgumentCaptor<Instant> expiry = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).complete(eq(SCOPE), eq("anonymous"), eq(KEY), eq(hash(REQUEST)), eq(claimToken.getValue()),
+                eq("\"created\""), expiry.capture());
+        assertThat(expiry.getValue()).isCloseTo(Instant.now().plus(Duration.ofHours(24)), within(1, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void keepsResponseWhenClaimWasLost() {
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), anyString(), any())).thenReturn(1);
+        when(repository.complete(anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), any()))
+                .thenReturn(0);
+
+        assertThat(execute()).isEqualTo("created");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void reclaimsKeyReleasedWhileWaiting() {
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), anyString(), any())).thenReturn(0, 1);
+        when(repository.findByScopeAndUserIdAndIdempotencyKey(SCOPE, "anonymous", KEY)).thenReturn(Optional.empty());
+
+        assertThat(execute()).isEqualTo("created");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void takesOverLapsedLease() throws Exception {
+        when(repository.claim(anyString(), anyString(), anyString(), anyString(), anyString(), any())).thenReturn(0, 1);
+        when(repository.findByScopeAndUserIdAndIdempotencyKey(SCOPE, "anonymous", KEY))
+                .thenReturn(Optional.of(record(hash(REQUEST), null, Instant.now().minusSeconds(1))));
+
+        assertThat(execute()).isEqualTo("created");
+        assertThat(calls).hasValue(1);
+    }
+
+    private String execute() {
+        return service.execute(SCOPE, KEY, REQUEST, String.class, () -> {
+            calls.incrementAndGet();
+            return "created";
+        });
+    }
+
+    private IdempotencyRecord record(String requestHash, String responseBody, Instant expiresAt) {
+        return IdempotencyRecord.builder()
+                .scope(SCOPE)
+                .userId("anonymous")
+                .idempotencyKey(KEY)
+                .requestHash(requestHash)
+                .responseBody(responseBody)
+                .createdAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private String hash(Object request) throws Exception {
+        byte[] json = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+    }
+}
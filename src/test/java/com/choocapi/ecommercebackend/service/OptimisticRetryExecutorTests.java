@@ -0,0 +1,108 @@
+package com.choocapi.ecommercebackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.choocapi.ecommercebackend.entity.Product;
+import com.choocapi.ecommercebackend.exception.AppException;
+import com.choocapi.ecommercebackend.exception.ErrorCode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OptimisticRetryExecutorTests {
+    static final String OPERATION = "product.update";
+
+    TransactionTemplate transactionTemplate;
+    MeterRegistry meterRegistry;
+    OptimisticRetryExecutor executor;
+    AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new OptimisticRetryExecutor(transactionTemplate, meterRegistry);
+    }
+
+    @Test
+    void retriesConflictsUntilSuccess() {
+        String result = executor.execute(OPERATION, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+            }
+            return "saved";
+        });
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(attempts).hasValue(3);
+        verify(transactionTemplate, times(3)).execute(any());
+        assertThat(count("optimistic.lock.conflicts")).isEqualTo(2);
+        assertThat(count("optimistic.lock.retries")).isEqualTo(2);
+        assertThat(count("optimistic.lock.exhausted")).isZero();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        assertThatThrownBy(() -> executor.execute(OPERATION, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+        }))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.CONCURRENT_MODIFICATION);
+
+        assertThat(attempts).hasValue(OptimisticRetryExecutor.MAX_ATTEMPTS);
+        assertThat(count("optimistic.lock.conflicts")).isEqualTo(OptimisticRetryExecutor.MAX_ATTEMPTS);
+        assertThat(count("optimistic.lock.exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        assertThatThrownBy(() -> executor.execute(OPERATION, () -> {
+            attempts.incrementAndGet();
+            throw new AppException(ErrorCode.RESOURCE_NOT_FOUND);
+        })).isInstanceOf(AppException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(count("optimistic.lock.conflicts")).isZero();
+    }
+
+    @Test
+    void passesThroughInsideExistingTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> executor.execute(OPERATION, () -> {
+                attempts.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+            })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // The caller's transaction owns the retry: one attempt, no transaction of its own
+        assertThat(attempts).hasValue(1);
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name, "operation", OPERATION).count();
+    }
+}
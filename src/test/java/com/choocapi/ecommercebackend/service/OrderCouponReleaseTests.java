@@ -0,0 +1,90 @@
+package com.choocapi.ecommercebackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.choocapi.ecommercebackend.entity.Coupon;
+import com.choocapi.ecommercebackend.entity.Order;
+import com.choocapi.ecommercebackend.enums.CouponType;
+import com.choocapi.ecommercebackend.enums.OrderStatus;
+import com.choocapi.ecommercebackend.enums.PaymentMethod;
+import com.choocapi.ecommercebackend.repository.CouponRepository;
+import com.choocapi.ecommercebackend.repository.OrderRepository;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class OrderCouponReleaseTests {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    CouponRepository couponRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void cancellingAnOrderFreesItsRedemptionSlot() {
+        Coupon coupon = couponRepository.saveAndFlush(Coupon.builder()
+                .code("ONCE-ONLY-TEST")
+                .type(CouponType.FIXED)
+                .value(new BigDecimal("10"))
+                .usageLimit(1)
+                .usedCount(0)
+                .isActive(true)
+                .build());
+        Order first = pendingOrder();
+        Order second = pendingOrder();
+
+        orderService.applyCoupon(first.getId(), coupon.getCode());
+        sync();
+        assertThat(usedCount(coupon)).isEqualTo(1);
+
+        orderService.cancelOrder(first.getId());
+        sync();
+        assertThat(usedCount(coupon)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM coupon_redemptions WHERE order_id = ?", Long.class, first.getId())).isZero();
+
+        // The single use is available again
+        orderService.applyCoupon(second.getId(), coupon.getCode());
+        sync();
+        assertThat(usedCount(coupon)).isEqualTo(1);
+    }
+
+    private Order pendingOrder() {
+        return orderRepository.saveAndFlush(Order.builder()
+                .status(OrderStatus.PENDING)
+                .paymentMethod(PaymentMethod.COD)
+                .subtotal(new BigDecimal("100"))
+                .discountAmount(BigDecimal.ZERO)
+                .totalAmount(new BigDecimal("100"))
+                .build());
+    }
+
+    // Each call runs in the test's transaction; flush it and start over as a separate request would
+    private void sync() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Integer usedCount(Coupon coupon) {
+        return jdbcTemplate.queryForObject("SELECT used_count FROM coupons WHERE id = ?", Integer.class, coupon.getId());
+    }
+}
@@ -0,0 +1,30 @@
+package com.choocapi.ecommercebackend.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SearchTextUtilTests {
+
+    @Test
+    void foldStripsVietnameseDiacritics() {
+        assertThat(SearchTextUtil.fold("Máy tính")).isEqualTo("may tinh");
+        assertThat(SearchTextUtil.fold("Điện thoại Đà Nẵng")).isEqualTo("dien thoai da nang");
+        assertThat(SearchTextUtil.fold("đồng hồ")).isEqualTo("dong ho");
+    }
+
+    @Test
+    void foldJoinsPartsAndDropsMarkup() {
+        assertThat(SearchTextUtil.fold("Laptop", null, "<p>Bàn phím&nbsp;cơ</p>", "SKU-01"))
+                .isEqualTo("laptop ban phim nbsp co sku 01");
+        assertThat(SearchTextUtil.fold((String) null)).isEmpty();
+    }
+
+    @Test
+    void foldedQueryMatchesFoldedText() {
+        assertThat(SearchTextUtil.fold("may tinh")).isEqualTo(SearchTextUtil.fold("MÁY TÍNH"));
+        assertThat(SearchTextUtil.toTsQuery("máy tính", true)).isEqualTo("may:* & tinh:*");
+        assertThat(SearchTextUtil.toTsQuery("Đèn LED", false)).isEqualTo("den:* | led:*");
+        assertThat(SearchTextUtil.toTsQuery(" !? ", true)).isNull();
+    }
+}